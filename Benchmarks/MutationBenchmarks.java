@@ -0,0 +1,129 @@
+package Benchmarks;
+
+import ControlSystem.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JMH dos metodos do ControlSystem que alteram o sistema, sobre uma organizacao ja preenchida.
+ * Precisa de jmh-core e jmh-generator-annprocess no classpath (nao ha build no repositorio), por exemplo:
+ * javac -cp jmh-core.jar:jmh-generator-annprocess.jar -d out $(find . -name "*.java" -not -name Tests.java)
+ * java -cp out:jmh-core.jar:... org.openjdk.jmh.Main Benchmarks
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MutationBenchmarks {
+
+    private static final long SEED = 42;
+    // manager que gere os projetos criados durante os benchmarks (nunca e membro das equipas)
+    private static final String BENCHMARK_MANAGER = "benchmarkManager";
+
+    @Param({"1000", "10000"})
+    public int users;
+
+    @Param({"100", "1000"})
+    public int projects;
+
+    @Param({"5", "50"})
+    public int teamSize;
+
+    @Param({"1", "10"})
+    public int revisionsPerArtefact;
+
+    private Organisation organisation;
+    private ControlSystem system;
+    private List<String> employees;
+    private List<String[]> revisable;
+    private String artefactProject;
+    private int counter;
+
+    /**
+     * Prepara uma organizacao nova em cada iteracao, para que o sistema nao cresca sem limite entre iteracoes
+     * @throws Exception
+     */
+    @Setup(Level.Iteration)
+    public void setUp() throws Exception {
+        organisation = new Organisation(SEED, users, projects, teamSize, revisionsPerArtefact);
+        system = organisation.getSystem();
+        system.register(BENCHMARK_MANAGER, Job.MANAGER, Organisation.MAX_LEVEL);
+        employees = organisation.getEmployees();
+        revisable = organisation.getRevisable();
+        artefactProject = organisation.getInHouses().get(0);
+        counter = 0;
+    }
+
+    @Benchmark
+    public void register() throws Exception {
+        system.register("registered" + counter++, BENCHMARK_MANAGER, Job.DEVELOPER, Organisation.MAX_LEVEL);
+    }
+
+    @Benchmark
+    public void createInHouse() throws Exception {
+        system.createProject("createdInHouse" + counter++, BENCHMARK_MANAGER, "keyword1 keyword2 keyword3", Organisation.MAX_LEVEL);
+    }
+
+    @Benchmark
+    public void createOutsourced() throws Exception {
+        system.createProject("createdOutsourced" + counter++, BENCHMARK_MANAGER, "keyword1 keyword2 keyword3", "company");
+    }
+
+    /**
+     * Junta employees a projetos de nivel 0, criando um projeto novo sempre que uma equipa chega a teamSize membros
+     */
+    @Benchmark
+    public void addEmployeeToProject() throws Exception {
+        String id = "teamProject" + counter / teamSize;
+        if (counter % teamSize == 0)
+            system.createProject(id, BENCHMARK_MANAGER, "keyword0", 0);
+        system.addEmployeeToProject(BENCHMARK_MANAGER, id, employees.get(counter % employees.size()));
+        counter++;
+    }
+
+    @Benchmark
+    public void addArtefactToProject() throws Exception {
+        String owner = system.getInHouse(artefactProject).getManagerUsername();
+        String name = "createdArtefact" + counter++;
+        LocalDate date = organisation.nextDate();
+        system.addArtefactToProject(system.createArtefact(owner, name, 0, "benchmark artefact", date), artefactProject, date);
+    }
+
+    /**
+     * Junta uma equipa de teamSize employees a um projeto novo de nivel 0 numa so chamada
+     */
+    @Benchmark
+    public AddResult[] addTeamToProject() throws Exception {
+        String id = "bulkTeamProject" + counter;
+        system.createProject(id, BENCHMARK_MANAGER, "keyword0", 0);
+        List<String> members = new ArrayList<>(teamSize);
+        for (int i = 0; i < teamSize; i++)
+            members.add(employees.get(counter++ % employees.size()));
+        return system.addTeamToProject(BENCHMARK_MANAGER, id, members);
+    }
+
+    /**
+     * Adiciona teamSize artefactos ao mesmo projeto numa so chamada
+     */
+    @Benchmark
+    public AddResult[] addArtefactsToProject() throws Exception {
+        String owner = system.getInHouse(artefactProject).getManagerUsername();
+        LocalDate date = organisation.nextDate();
+        List<Artefact> artefacts = new ArrayList<>(teamSize);
+        for (int i = 0; i < teamSize; i++)
+            artefacts.add(system.createArtefact(owner, "createdArtefact" + counter++, 0, "benchmark artefact", date));
+        return system.addArtefactsToProject(owner, artefactProject, date, artefacts);
+    }
+
+    @Benchmark
+    public int addRevision() throws Exception {
+        String[] revision = revisable.get(counter++ % revisable.size());
+        return system.addRevision(revision[0], revision[1], revision[2], organisation.nextDate(), "benchmark revision");
+    }
+}
@@ -0,0 +1,200 @@
+package Benchmarks;
+
+import ControlSystem.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Organizacao sintetica, gerada a partir de uma seed, usada para preparar o estado dos benchmarks
+ */
+public class Organisation {
+
+    public static final int NUM_KEYWORDS = 50;
+    public static final int KEYWORDS_PER_PROJECT = 3;
+    public static final int ARTEFACTS_PER_PROJECT = 4;
+    public static final int MAX_LEVEL = 5;
+    // um em cada MANAGER_RATIO employees e manager, e um em cada OUTSOURCED_RATIO projetos e Outsourced
+    public static final int MANAGER_RATIO = 10;
+    public static final int OUTSOURCED_RATIO = 4;
+    private static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 1);
+
+    private ControlSystem system;
+    private Random random;
+    private List<String> managers;
+    private List<String> employees;
+    private List<String> inHouses;
+    private List<String> keywords;
+    // revisoes que podem ser repetidas: membro da equipa, projeto e artefacto
+    private List<String[]> revisable;
+    private int day;
+
+    /**
+     * Construtor da class Organisation (regista os employees, cria os projetos, as equipas, os artefactos e as revisoes)
+     * @param seed seed do gerador de numeros aleatorios
+     * @param users numero de employees
+     * @param projects numero de projetos
+     * @param teamSize numero de membros da equipa de cada projeto In-House
+     * @param revisionsPerArtefact numero de revisoes de cada artefacto (incluindo a de criacao)
+     * @throws Exception se algum comando falhar (a organizacao gerada e sempre valida)
+     */
+    public Organisation(long seed, int users, int projects, int teamSize, int revisionsPerArtefact) throws Exception {
+        this.system = new ControlSystemClass();
+        this.random = new Random(seed);
+        this.managers = new ArrayList<>();
+        this.employees = new ArrayList<>();
+        this.inHouses = new ArrayList<>();
+        this.keywords = new ArrayList<>();
+        this.revisable = new ArrayList<>();
+        this.day = 0;
+
+        for (int i = 0; i < NUM_KEYWORDS; i++)
+            keywords.add("keyword" + i);
+        registerUsers(users);
+        createProjects(projects);
+        buildTeams(teamSize);
+        addArtefacts(revisionsPerArtefact);
+    }
+
+    /**
+     * Obtem o sistema com a organizacao
+     * @return sistema com a organizacao
+     */
+    public ControlSystem getSystem() {
+        return system;
+    }
+
+    /**
+     * Obtem os nomes dos managers
+     * @return nomes dos managers
+     */
+    public List<String> getManagers() {
+        return managers;
+    }
+
+    /**
+     * Obtem os nomes de todos os employees
+     * @return nomes de todos os employees
+     */
+    public List<String> getEmployees() {
+        return employees;
+    }
+
+    /**
+     * Obtem os ids dos projetos In-House
+     * @return ids dos projetos In-House
+     */
+    public List<String> getInHouses() {
+        return inHouses;
+    }
+
+    /**
+     * Obtem as keywords usadas nos projetos
+     * @return keywords usadas nos projetos
+     */
+    public List<String> getKeywords() {
+        return keywords;
+    }
+
+    /**
+     * Obtem as revisoes que podem ser repetidas (membro da equipa, projeto e artefacto)
+     * @return revisoes que podem ser repetidas
+     */
+    public List<String[]> getRevisable() {
+        return revisable;
+    }
+
+    /**
+     * Obtem uma data posterior a todas as anteriores
+     * @return proxima data
+     */
+    public LocalDate nextDate() {
+        return FIRST_DATE.plusDays(day++ / 8);
+    }
+
+    /**
+     * Regista os employees: os managers com o nivel maximo e os developers com um nivel aleatorio
+     * @param users numero de employees
+     * @throws Exception
+     */
+    private void registerUsers(int users) throws Exception {
+        for (int i = 0; i < users; i++) {
+            if (i % MANAGER_RATIO == 0) {
+                String name = "manager" + i;
+                system.register(name, Job.MANAGER, MAX_LEVEL);
+                managers.add(name);
+                employees.add(name);
+            } else {
+                String name = "developer" + i;
+                system.register(name, managers.get(random.nextInt(managers.size())), Job.DEVELOPER, random.nextInt(MAX_LEVEL + 1));
+                employees.add(name);
+            }
+        }
+    }
+
+    /**
+     * Cria os projetos, com keywords e niveis aleatorios
+     * @param projects numero de projetos
+     * @throws Exception
+     */
+    private void createProjects(int projects) throws Exception {
+        for (int i = 0; i < projects; i++) {
+            String manager = managers.get(random.nextInt(managers.size()));
+            StringBuilder projectKeywords = new StringBuilder(keywords.get(random.nextInt(NUM_KEYWORDS)));
+            for (int k = 1; k < KEYWORDS_PER_PROJECT; k++)
+                projectKeywords.append(' ').append(keywords.get(random.nextInt(NUM_KEYWORDS)));
+            if (i % OUTSOURCED_RATIO == 0) {
+                system.createProject("outsourced" + i, manager, projectKeywords.toString(), "company" + random.nextInt(10));
+            } else {
+                String id = "inhouse" + i;
+                system.createProject(id, manager, projectKeywords.toString(), random.nextInt(MAX_LEVEL + 1));
+                inHouses.add(id);
+            }
+        }
+    }
+
+    /**
+     * Junta a cada projeto In-House ate teamSize employees com nivel suficiente
+     * @param teamSize numero de membros de cada equipa
+     * @throws Exception
+     */
+    private void buildTeams(int teamSize) throws Exception {
+        for (String id : inHouses) {
+            InHouse inHouse = system.getInHouse(id);
+            int attempts = teamSize * 4;
+            while (inHouse.getNumEmployees() < teamSize && attempts-- > 0) {
+                String member = employees.get(random.nextInt(employees.size()));
+                Employee employee = system.getEmployee(member);
+                if (employee.getLevel() >= inHouse.getLevel() && !member.equals(inHouse.getManagerUsername())
+                        && !inHouse.hasEmployee(employee.getSymbol()))
+                    system.addEmployeeToProject(inHouse.getManagerUsername(), id, member);
+            }
+        }
+    }
+
+    /**
+     * Adiciona a cada projeto In-House os seus artefactos, revistos por membros da equipa
+     * @param revisionsPerArtefact numero de revisoes de cada artefacto (incluindo a de criacao)
+     * @throws Exception
+     */
+    private void addArtefacts(int revisionsPerArtefact) throws Exception {
+        for (String id : inHouses) {
+            InHouse inHouse = system.getInHouse(id);
+            List<String> team = new ArrayList<>();
+            inHouse.listTeam().forEachRemaining(employee -> team.add(employee.getUsername()));
+            String owner = inHouse.getManagerUsername();
+            for (int a = 0; a < ARTEFACTS_PER_PROJECT; a++) {
+                String name = id + "artefact" + a;
+                LocalDate date = nextDate();
+                system.addArtefactToProject(system.createArtefact(owner, name, random.nextInt(inHouse.getLevel() + 1), "description of " + name, date), id, date);
+                if (team.isEmpty())
+                    continue;
+                for (int r = 1; r < revisionsPerArtefact; r++)
+                    system.addRevision(team.get(random.nextInt(team.size())), id, name, nextDate(), "revision " + r);
+                revisable.add(new String[] {team.get(random.nextInt(team.size())), id, name});
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package Benchmarks;
+
+import ControlSystem.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks JMH dos metodos do ControlSystem que so consultam o sistema; cada benchmark percorre o iterador inteiro,
+ * como o Main faz ao escrever o output (ver MutationBenchmarks para as dependencias)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class QueryBenchmarks {
+
+    private static final long SEED = 42;
+
+    @Param({"1000", "10000"})
+    public int users;
+
+    @Param({"100", "1000"})
+    public int projects;
+
+    @Param({"5", "50"})
+    public int teamSize;
+
+    @Param({"1", "10"})
+    public int revisionsPerArtefact;
+
+    private ControlSystem system;
+    private List<String> managers;
+    private List<String> keywords;
+    private List<String> inHouses;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Organisation organisation = new Organisation(SEED, users, projects, teamSize, revisionsPerArtefact);
+        system = organisation.getSystem();
+        managers = organisation.getManagers();
+        keywords = organisation.getKeywords();
+        inHouses = organisation.getInHouses();
+        counter = 0;
+    }
+
+    @Benchmark
+    public void listUsers(Blackhole blackhole) throws Exception {
+        consume(system.listUsers(), blackhole);
+    }
+
+    @Benchmark
+    public void listProjects(Blackhole blackhole) throws Exception {
+        consume(system.listProjects(), blackhole);
+    }
+
+    @Benchmark
+    public void listWorkaholics(Blackhole blackhole) throws Exception {
+        consume(system.listWorkaholics(), blackhole);
+    }
+
+    @Benchmark
+    public void listCommon(Blackhole blackhole) throws Exception {
+        consume(system.listCommon(), blackhole);
+    }
+
+    @Benchmark
+    public void listByConfidentiality(Blackhole blackhole) throws Exception {
+        consume(system.listByConfidentiality(0, Organisation.MAX_LEVEL), blackhole);
+    }
+
+    @Benchmark
+    public void listInHousesByKeyword(Blackhole blackhole) throws Exception {
+        consume(system.listInHousesByKeyword(keywords.get(counter++ % keywords.size())), blackhole);
+    }
+
+    @Benchmark
+    public void listOutsourcedByKeyword(Blackhole blackhole) throws Exception {
+        consume(system.listOutsourcedByKeyword(keywords.get(counter++ % keywords.size())), blackhole);
+    }
+
+    @Benchmark
+    public void listManagedDevelopers(Blackhole blackhole) throws Exception {
+        consume(system.listManagedDevelopers(managers.get(counter++ % managers.size())), blackhole);
+    }
+
+    /**
+     * Percorre a equipa, os artefactos e as revisoes de um projeto, como o comando project
+     */
+    @Benchmark
+    public void projectInfo(Blackhole blackhole) throws Exception {
+        String id = inHouses.get(counter++ % inHouses.size());
+        consume(system.listTeamInProject(id), blackhole);
+        Iterator<Artefact> artefacts = system.listArtefactsInProject(id);
+        while (artefacts.hasNext())
+            consume(system.listRevisions(artefacts.next()), blackhole);
+    }
+
+    /**
+     * Percorre as revisoes de um manager, como o comando manages
+     */
+    @Benchmark
+    public void listEmployeeRevisions(Blackhole blackhole) throws Exception {
+        consume(system.getEmployee(managers.get(counter++ % managers.size())).listRevisions(), blackhole);
+    }
+
+    /**
+     * Consome todos os elementos de um iterador
+     * @param it iterador a ser consumido
+     * @param blackhole destino dos elementos, para que nao sejam eliminados pelo compilador
+     */
+    private static void consume(Iterator<?> it, Blackhole blackhole) {
+        while (it.hasNext())
+            blackhole.consume(it.next());
+    }
+}
@@ -0,0 +1,350 @@
+package Benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Method;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Gerador, a partir de uma seed, de scripts de comandos com a sintaxe do Main, que simulam uma organizacao:
+ * regista os managers e os developers, cria os projetos (com as equipas e os artefactos dos In-House) e submete revisoes,
+ * intercalando comandos de consulta numa dada proporcao.
+ * Uso: java Benchmarks.WorkloadGenerator [--option value]... (ver usage()); com --run o script e executado pelo Main
+ * (em modo --batch, com o output descartado) e e escrito no stderr o numero de comandos por segundo.
+ */
+public class WorkloadGenerator {
+
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd-MM-yyyy");
+    private static final LocalDate FIRST_DATE = LocalDate.of(2020, 1, 1);
+    private static final int MAX_LEVEL = 5;
+    private static final int MAX_KEYWORDS_PER_PROJECT = 3;
+    private static final int COMPANIES = 20;
+    // numero de comandos de escrita entre dois dias consecutivos
+    private static final int COMMANDS_PER_DAY = 50;
+    // pesos das consultas intercaladas: keyword, manages, common, workaholics, users, projects
+    private static final String[] READS = {"keyword", "manages", "common", "workaholics", "users", "projects"};
+    private static final int[] READ_WEIGHTS = {30, 30, 15, 15, 5, 5};
+
+    // configuracao
+    private long seed = 1;
+    private int managers = 100;
+    private int developers = 900;
+    private int projects = 500;
+    private double outsourcedRatio = 0.25;
+    private int keywords = 200;
+    private double zipfExponent = 1.0;
+    private int[] levelWeights = {1, 1, 1, 1, 1, 1};
+    private int teamSize = 8;
+    private int artefactsPerProject = 4;
+    private int revisions = 100000;
+    private double readRatio = 0.2;
+
+    // estado da organizacao gerada, necessario para que os comandos de escrita sejam validos
+    private Random random;
+    private Writer out;
+    private double[] keywordCumulative;
+    private int[] managerLevels;
+    private int[] developerLevels;
+    private List<Integer> inHouses;
+    private List<List<String>> teams;
+    private List<Integer> artefactCounts;
+    private int registeredManagers;
+    private int writes;
+    private long commands;
+
+    public static void main(String[] args) throws Exception {
+        WorkloadGenerator generator = new WorkloadGenerator();
+        String output = null;
+        boolean run = false;
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (option.equals("--run")) {
+                run = true;
+                continue;
+            }
+            if (i + 1 == args.length) {
+                usage();
+                return;
+            }
+            String value = args[++i];
+            switch (option) {
+                case "--output": output = value; break;
+                case "--seed": generator.seed = Long.parseLong(value); break;
+                case "--managers": generator.managers = Integer.parseInt(value); break;
+                case "--developers": generator.developers = Integer.parseInt(value); break;
+                case "--projects": generator.projects = Integer.parseInt(value); break;
+                case "--outsourced-ratio": generator.outsourcedRatio = Double.parseDouble(value); break;
+                case "--keywords": generator.keywords = Integer.parseInt(value); break;
+                case "--zipf": generator.zipfExponent = Double.parseDouble(value); break;
+                case "--levels": generator.levelWeights = parseWeights(value); break;
+                case "--team-size": generator.teamSize = Integer.parseInt(value); break;
+                case "--artefacts": generator.artefactsPerProject = Integer.parseInt(value); break;
+                case "--revisions": generator.revisions = Integer.parseInt(value); break;
+                case "--read-ratio": generator.readRatio = Double.parseDouble(value); break;
+                default:
+                    usage();
+                    return;
+            }
+        }
+        if (generator.managers < 1 || generator.keywords < 1 || generator.readRatio < 0 || generator.readRatio >= 1) {
+            usage();
+            return;
+        }
+
+        if (!run) {
+            Writer writer = output == null ? new OutputStreamWriter(System.out, Charset.defaultCharset()) : Files.newBufferedWriter(Paths.get(output), Charset.defaultCharset());
+            long commands = generator.generate(writer);
+            writer.close();
+            System.err.printf("%d commands generated%n", commands);
+            return;
+        }
+
+        Path script = output == null ? Files.createTempFile("workload", ".txt") : Paths.get(output);
+        Path result = Files.createTempFile("workload", ".out");
+        try {
+            long commands;
+            try (Writer writer = Files.newBufferedWriter(script, Charset.defaultCharset())) {
+                commands = generator.generate(writer);
+            }
+            // o Main esta no package por omissao, que nao pode ser importado
+            Method main = Class.forName("Main").getMethod("main", String[].class);
+            long start = System.nanoTime();
+            main.invoke(null, (Object) new String[] {"--batch", script.toString(), result.toString()});
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.err.printf("%d commands in %.3f s (%.0f commands/s)%n", commands, seconds, commands / seconds);
+        } finally {
+            Files.deleteIfExists(result);
+            if (output == null)
+                Files.deleteIfExists(script);
+        }
+    }
+
+    /**
+     * Escreve as opcoes do gerador no stderr
+     */
+    private static void usage() {
+        System.err.println("Usage: java Benchmarks.WorkloadGenerator [--run] [--output <file>] [--seed <n>] [--managers <n>]"
+                + " [--developers <n>] [--projects <n>] [--outsourced-ratio <0..1>] [--keywords <n>] [--zipf <exponent>]"
+                + " [--levels <w0,w1,w2,w3,w4,w5>] [--team-size <n>] [--artefacts <n>] [--revisions <n>] [--read-ratio <0..1>]");
+    }
+
+    /**
+     * Le os pesos dos niveis de acesso 0 a 5, separados por virgulas
+     * @param value pesos separados por virgulas
+     * @return pesos dos niveis de acesso
+     */
+    private static int[] parseWeights(String value) {
+        int[] weights = Arrays.stream(value.split(",")).mapToInt(Integer::parseInt).toArray();
+        if (weights.length != MAX_LEVEL + 1)
+            throw new IllegalArgumentException("Expected " + (MAX_LEVEL + 1) + " level weights: " + value);
+        return weights;
+    }
+
+    /**
+     * Gera o script completo, terminado pelo comando exit
+     * @param out destino do script
+     * @return numero de comandos gerados
+     * @throws IOException
+     */
+    private long generate(Writer out) throws IOException {
+        this.out = out instanceof BufferedWriter ? out : new BufferedWriter(out);
+        this.random = new Random(seed);
+        this.keywordCumulative = zipfCumulative(keywords, zipfExponent);
+        this.managerLevels = new int[managers];
+        this.developerLevels = new int[developers];
+        this.inHouses = new ArrayList<>();
+        this.teams = new ArrayList<>();
+        this.artefactCounts = new ArrayList<>();
+        this.registeredManagers = 0;
+        this.writes = 0;
+        this.commands = 0;
+
+        for (int i = 0; i < managers; i++) {
+            managerLevels[i] = randomLevel(MAX_LEVEL);
+            write("register manager m" + i + " " + managerLevels[i]);
+            registeredManagers++;
+        }
+        for (int i = 0; i < developers; i++) {
+            developerLevels[i] = randomLevel(MAX_LEVEL);
+            write("register developer d" + i + " m" + random.nextInt(managers) + " " + developerLevels[i]);
+        }
+        for (int i = 0; i < projects; i++)
+            createProject(i);
+        List<Integer> revisable = new ArrayList<>();
+        for (int p = 0; p < inHouses.size(); p++) {
+            if (!teams.get(p).isEmpty() && artefactCounts.get(p) > 0)
+                revisable.add(p);
+        }
+        for (int i = 0; i < revisions && !revisable.isEmpty(); i++) {
+            int p = revisable.get(random.nextInt(revisable.size()));
+            List<String> team = teams.get(p);
+            write("revision " + team.get(random.nextInt(team.size())) + " p" + inHouses.get(p) + "\n"
+                    + "a" + random.nextInt(artefactCounts.get(p)) + " " + date() + " revision " + i + " of the artefact");
+        }
+        command("exit");
+        this.out.flush();
+        return commands;
+    }
+
+    /**
+     * Gera a criacao de um projeto e, se for In-House, a sua equipa e os seus artefactos
+     * @param project numero do projeto
+     * @throws IOException
+     */
+    private void createProject(int project) throws IOException {
+        int manager = random.nextInt(managers);
+        String id = "p" + project;
+        String projectKeywords = randomKeywords();
+        if (random.nextDouble() < outsourcedRatio) {
+            write("create m" + manager + " outsourced " + id + "\n" + projectKeywords + "\ncompany" + random.nextInt(COMPANIES));
+            return;
+        }
+        int level = randomLevel(managerLevels[manager]);
+        write("create m" + manager + " inhouse " + id + "\n" + projectKeywords + "\n" + level);
+
+        List<String> team = new ArrayList<>();
+        int attempts = teamSize * 4;
+        while (team.size() < teamSize && attempts-- > 0 && developers > 0) {
+            int developer = random.nextInt(developers);
+            String name = "d" + developer;
+            if (developerLevels[developer] >= level && !team.contains(name))
+                team.add(name);
+        }
+        if (!team.isEmpty())
+            write("team m" + manager + " " + id + "\n" + team.size() + "\n" + String.join(" ", team));
+
+        StringBuilder artefacts = new StringBuilder("artefacts m" + manager + " " + id + "\n" + date() + "\n" + artefactsPerProject);
+        for (int a = 0; a < artefactsPerProject; a++)
+            artefacts.append("\na").append(a).append(' ').append(random.nextInt(level + 1)).append(" artefact ").append(a).append(" of ").append(id);
+        if (artefactsPerProject > 0)
+            write(artefacts.toString());
+
+        inHouses.add(project);
+        teams.add(team);
+        artefactCounts.add(artefactsPerProject);
+    }
+
+    /**
+     * Escreve um comando de escrita, precedido pelas consultas que lhe calharem
+     * @param command comando de escrita
+     * @throws IOException
+     */
+    private void write(String command) throws IOException {
+        while (random.nextDouble() < readRatio)
+            read();
+        command(command);
+        writes++;
+    }
+
+    /**
+     * Escreve uma consulta escolhida de acordo com os pesos das consultas
+     * @throws IOException
+     */
+    private void read() throws IOException {
+        int total = Arrays.stream(READ_WEIGHTS).sum();
+        int choice = random.nextInt(total);
+        int r = 0;
+        while (choice >= READ_WEIGHTS[r])
+            choice -= READ_WEIGHTS[r++];
+        switch (READS[r]) {
+            case "keyword":
+                command("keyword " + zipfKeyword());
+                break;
+            case "manages":
+                command(registeredManagers == 0 ? "users" : "manages m" + random.nextInt(registeredManagers));
+                break;
+            default:
+                command(READS[r]);
+        }
+    }
+
+    /**
+     * Escreve um comando no script
+     * @param command comando a ser escrito
+     * @throws IOException
+     */
+    private void command(String command) throws IOException {
+        out.write(command);
+        out.write('\n');
+        commands++;
+    }
+
+    /**
+     * Obtem a data atual da simulacao, que avanca um dia a cada COMMANDS_PER_DAY comandos de escrita
+     * @return data atual formatada como dd-MM-yyyy
+     */
+    private String date() {
+        return FIRST_DATE.plusDays(writes / COMMANDS_PER_DAY).format(DATE_FORMAT);
+    }
+
+    /**
+     * Obtem entre 1 e MAX_KEYWORDS_PER_PROJECT keywords distintas, precedidas do seu numero
+     * @return keywords no formato do comando create
+     */
+    private String randomKeywords() {
+        int amount = 1 + random.nextInt(Math.min(MAX_KEYWORDS_PER_PROJECT, keywords));
+        List<String> chosen = new ArrayList<>();
+        while (chosen.size() < amount) {
+            String keyword = zipfKeyword();
+            if (!chosen.contains(keyword))
+                chosen.add(keyword);
+        }
+        return amount + " " + String.join(" ", chosen);
+    }
+
+    /**
+     * Obtem uma keyword com popularidade de Zipf (a keyword de posicao k tem peso 1 / k^zipfExponent)
+     * @return keyword escolhida
+     */
+    private String zipfKeyword() {
+        int index = Arrays.binarySearch(keywordCumulative, random.nextDouble() * keywordCumulative[keywordCumulative.length - 1]);
+        if (index < 0)
+            index = -index - 1;
+        return "k" + Math.min(index, keywordCumulative.length - 1);
+    }
+
+    /**
+     * Obtem um nivel de acesso, de acordo com os pesos dos niveis, que nao excede um dado maximo
+     * @param max nivel maximo
+     * @return nivel escolhido
+     */
+    private int randomLevel(int max) {
+        int total = 0;
+        for (int level = 0; level <= max; level++)
+            total += levelWeights[level];
+        if (total == 0)
+            return random.nextInt(max + 1);
+        int choice = random.nextInt(total);
+        int level = 0;
+        while (choice >= levelWeights[level])
+            choice -= levelWeights[level++];
+        return level;
+    }
+
+    /**
+     * Calcula os pesos acumulados de uma distribuicao de Zipf
+     * @param size numero de elementos
+     * @param exponent expoente da distribuicao
+     * @return pesos acumulados (o elemento k tem peso 1 / (k + 1)^exponent)
+     */
+    private static double[] zipfCumulative(int size, double exponent) {
+        double[] cumulative = new double[size];
+        double sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += 1 / Math.pow(k + 1, exponent);
+            cumulative[k] = sum;
+        }
+        return cumulative;
+    }
+}
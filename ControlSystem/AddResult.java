@@ -0,0 +1,39 @@
+package ControlSystem;
+
+import Exceptions.*;
+
+public enum AddResult {
+
+    // resultado de cada membro em addTeamToProject
+    ADDED_TO_TEAM ("%s: added to the team."),
+    ALREADY_MEMBER (MemberAlreadyInTeamException.MESSAGE),
+    EMPLOYEE_DOES_NOT_EXIST (EmployeeDoesNotExistException.MESSAGE),
+    INSUFFICIENT_CLEARANCE_LEVEL (InsufficientClearanceLevelException.MESSAGE),
+    // resultado de cada artefacto em addArtefactsToProject
+    ADDED_TO_PROJECT ("%s: added to the project."),
+    ARTEFACT_ALREADY_IN_PROJECT (ArtefactAlreadyInProjectException.MESSAGE),
+    ARTEFACT_HAS_HIGHER_LEVEL (ArtefactHasHigherLevelException.MESSAGE);
+
+    private final String message;
+
+    AddResult(String message) {
+        this.message = message;
+    }
+
+    /**
+     * Verifica se o elemento foi adicionado
+     * @return true se o elemento foi adicionado / false caso contrario
+     */
+    public boolean isAdded() {
+        return this == ADDED_TO_TEAM || this == ADDED_TO_PROJECT;
+    }
+
+    /**
+     * Obtem a mensagem do resultado de um elemento (a mesma da excecao que o metodo individual lancaria)
+     * @param name nome do membro ou do artefacto
+     * @return mensagem do resultado
+     */
+    public String getMessage(String name) {
+        return String.format(message, name);
+    }
+}
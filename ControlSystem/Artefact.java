@@ -1,5 +1,7 @@
 package ControlSystem;
 
+import Exceptions.RevisionDoesNotExistException;
+
 import java.time.LocalDate;
 import java.util.Iterator;
 
@@ -7,9 +9,9 @@ public interface Artefact extends Comparable<Artefact> {
 
     /**
      * Adiciona uma revisao no artefacto
-     * @param revision revisao a ser adicionada
+     * @param revision posicao da revisao no arquivo de revisoes
      */
-    void addRevision(Revision revision);
+    void addRevision(int revision);
 
     /**
      * Obtem o nome do dono do artefacto
@@ -23,6 +25,18 @@ public interface Artefact extends Comparable<Artefact> {
      */
     String getName();
 
+    /**
+     * Obtem o simbolo do nome do artefacto
+     * @return simbolo do nome do artefacto
+     */
+    int getSymbol();
+
+    /**
+     * Atribui o simbolo do nome do artefacto (quando o artefacto entra num projeto)
+     * @param symbol simbolo do nome do artefacto
+     */
+    void setSymbol(int symbol);
+
     /**
      * Obtem a descricao do artefacto
      * @return descricao do artefacto
@@ -53,6 +67,12 @@ public interface Artefact extends Comparable<Artefact> {
      */
     LocalDate getLastDate();
 
+    /**
+     * Obtem a data da ultima revisao do artefacto como numero de dias desde 01-01-1970
+     * @return numero de dias desde 01-01-1970 da data da ultima revisao do artefacto
+     */
+    int getLastEpochDay();
+
     /**
      * Verifica se dois artefactos sao iguais ('this' e artefact)
      * @param artefact artefacto a ser comparado com 'this'
@@ -65,4 +85,21 @@ public interface Artefact extends Comparable<Artefact> {
      * @return iterador com todas as revisoes associadas ao artefacto
      */
     Iterator<Revision> listRevisions();
+
+    /**
+     * Lista as revisoes do artefacto com numeros num dado intervalo, da mais recente para a mais antiga
+     * @param from numero da primeira revisao do intervalo
+     * @param to numero da ultima revisao do intervalo
+     * @return iterador com as revisoes do artefacto no dado intervalo
+     * @throws RevisionDoesNotExistException
+     */
+    Iterator<Revision> listRevisions(int from, int to) throws RevisionDoesNotExistException;
+
+    /**
+     * Obtem a revisao do artefacto com um dado numero
+     * @param number numero da revisao
+     * @return revisao com o dado numero
+     * @throws RevisionDoesNotExistException
+     */
+    Revision getRevision(int number) throws RevisionDoesNotExistException;
 }
@@ -1,46 +1,52 @@
 package ControlSystem;
 
+import Exceptions.RevisionDoesNotExistException;
+
 import java.time.LocalDate;
-import java.util.Collections;
 import java.util.Iterator;
-import java.util.LinkedList;
-import java.util.List;
 
 public class ArtefactClass implements Artefact, Comparable<Artefact> {
 
+    private RevisionStore store;
     private String owner;
     private String name;
+    private int symbol;
     private int level;
     private String description;
-    private List<Revision> revisions;
-    private LocalDate lastDate;
+    // posicoes no arquivo das revisoes, pela ordem em que foram adicionadas (a revisao n esta na posicao n - 1)
+    private IntList revisions;
+    // data da ultima revisao como numero de dias desde 01-01-1970
+    private int lastDate;
 
     /**
-     * Construtor da class ArtefactClass
+     * Construtor da class ArtefactClass (a revisao de criacao e adicionada quando o artefacto entra num projeto)
+     * @param store arquivo onde sao guardadas as revisoes do artefacto
      * @param owner nome do dono do artefacto
      * @param name nome do artefacto
+     * @param symbol simbolo do nome do artefacto, ou NO_SYMBOL se o nome ainda nao estiver registado
      * @param level nivel de acesso do artefacto
      * @param description descricao do artefacto
      * @param date data em que o artefacto foi criado
      */
-    public ArtefactClass(String owner, String name, int level, String description, LocalDate date, String projectName) {
+    public ArtefactClass(RevisionStore store, String owner, String name, int symbol, int level, String description, LocalDate date) {
+        this.store = store;
         this.owner = owner;
         this.name = name;
+        this.symbol = symbol;
         this.level = level;
         this.description = description;
-        this.revisions = new LinkedList<>();
-        revisions.add(new RevisionClass(getRevisionNum(), owner, date, description, name, projectName));
-        lastDate = date;
+        this.revisions = new IntList();
+        this.lastDate = (int) date.toEpochDay();
     }
 
     /**
      * Adiciona uma revisao no artefacto
-     * @param revision revisao a ser adicionada
+     * @param revision posicao da revisao no arquivo de revisoes
      */
     @Override
-    public void addRevision(Revision revision) {
+    public void addRevision(int revision) {
         revisions.add(revision);
-        lastDate = revision.getDate();
+        lastDate = store.getEpochDay(revision);
     }
 
     /**
@@ -61,6 +67,24 @@ public class ArtefactClass implements Artefact, Comparable<Artefact> {
         return name;
     }
 
+    /**
+     * Obtem o simbolo do nome do artefacto
+     * @return simbolo do nome do artefacto
+     */
+    @Override
+    public int getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Atribui o simbolo do nome do artefacto (quando o artefacto entra num projeto)
+     * @param symbol simbolo do nome do artefacto
+     */
+    @Override
+    public void setSymbol(int symbol) {
+        this.symbol = symbol;
+    }
+
     /**
      * Obtem a descricao do artefacto
      * @return descricao do artefacto
@@ -103,6 +127,15 @@ public class ArtefactClass implements Artefact, Comparable<Artefact> {
      */
     @Override
     public LocalDate getLastDate() {
+        return Dates.toLocalDate(lastDate);
+    }
+
+    /**
+     * Obtem a data da ultima revisao do artefacto como numero de dias desde 01-01-1970
+     * @return numero de dias desde 01-01-1970 da data da ultima revisao do artefacto
+     */
+    @Override
+    public int getLastEpochDay() {
         return lastDate;
     }
 
@@ -122,8 +155,36 @@ public class ArtefactClass implements Artefact, Comparable<Artefact> {
      */
     @Override
     public Iterator<Revision> listRevisions() {
-        Collections.sort(revisions);
-        return revisions.iterator();
+        return new RevisionIterator(store, revisions, 0, revisions.size());
+    }
+
+    /**
+     * Lista as revisoes do artefacto com numeros num dado intervalo, da mais recente para a mais antiga
+     * @param from numero da primeira revisao do intervalo
+     * @param to numero da ultima revisao do intervalo
+     * @return iterador com as revisoes do artefacto no dado intervalo
+     * @throws RevisionDoesNotExistException
+     */
+    @Override
+    public Iterator<Revision> listRevisions(int from, int to) throws RevisionDoesNotExistException {
+        if (from < 1 || from > revisions.size())
+            throw new RevisionDoesNotExistException(from, name);
+        if (to < from || to > revisions.size())
+            throw new RevisionDoesNotExistException(to, name);
+        return new RevisionIterator(store, revisions, from - 1, to);
+    }
+
+    /**
+     * Obtem a revisao do artefacto com um dado numero
+     * @param number numero da revisao
+     * @return revisao com o dado numero
+     * @throws RevisionDoesNotExistException
+     */
+    @Override
+    public Revision getRevision(int number) throws RevisionDoesNotExistException {
+        if (number < 1 || number > revisions.size())
+            throw new RevisionDoesNotExistException(number, name);
+        return store.getRevision(revisions.get(number - 1));
     }
 
     /**
@@ -133,9 +194,9 @@ public class ArtefactClass implements Artefact, Comparable<Artefact> {
      */
     @Override
     public int compareTo(Artefact artefact) {
-        if (this.getLastDate().isAfter(artefact.getLastDate()))
+        if (lastDate > artefact.getLastEpochDay())
             return -1;
-        else if (this.getLastDate().isBefore(artefact.getLastDate()))
+        else if (lastDate < artefact.getLastEpochDay())
             return 1;
         else {
             if (this.getName().compareTo(artefact.getName()) < 0)
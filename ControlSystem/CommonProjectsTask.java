@@ -0,0 +1,132 @@
+package ControlSystem;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RecursiveTask;
+
+public class CommonProjectsTask extends RecursiveTask<Map<Long, EmployeePair>> {
+
+    // numero maximo de pares (soma dos quadrados das equipas) contados sem dividir a tarefa: abaixo disto dividir custa
+    // mais do que contar, e uma organizacao pequena e contada toda na thread que invoca a tarefa
+    public static final long THRESHOLD = 1 << 16;
+    // multiplicador impar aplicado a chave de um par de simbolos: mantem as chaves distintas e espalha-as pelo HashMap
+    // (o hashCode de (first << 32 | second) seria first ^ second, igual para muitos pares)
+    private static final long PAIR_KEY_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    private List<InHouse> inHouses;
+    private int from;
+    private int to;
+
+    /**
+     * Construtor da class CommonProjectsTask (conta, no ForkJoinPool, os projetos em comum de todos os pares de employees
+     * de uma parte dos projetos In-House, com as mesmas regras do ControlSystemClass.addEmployeeToProject)
+     * @param inHouses projetos In-House
+     * @param from posicao do primeiro projeto a contar
+     * @param to posicao a seguir ao ultimo projeto a contar
+     */
+    public CommonProjectsTask(List<InHouse> inHouses, int from, int to) {
+        this.inHouses = inHouses;
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Conta os pares da parte dos projetos, dividindo-a em duas tarefas enquanto tiver mais de THRESHOLD pares
+     * @return pares com projetos em comum indexados pela chave do par (ver pairKey)
+     */
+    @Override
+    protected Map<Long, EmployeePair> compute() {
+        if (to - from <= 1 || work() <= THRESHOLD)
+            return count();
+        int middle = (from + to) >>> 1;
+        CommonProjectsTask left = new CommonProjectsTask(inHouses, from, middle);
+        CommonProjectsTask right = new CommonProjectsTask(inHouses, middle, to);
+        invokeAll(left, right);
+        Map<Long, EmployeePair> larger = left.join();
+        Map<Long, EmployeePair> smaller = right.join();
+        if (larger.size() < smaller.size()) {
+            Map<Long, EmployeePair> aux = larger;
+            larger = smaller;
+            smaller = aux;
+        }
+        for (Map.Entry<Long, EmployeePair> entry : smaller.entrySet())
+            larger.merge(entry.getKey(), entry.getValue(), (p1, p2) ->
+                    new EmployeePairClass(p1.getFirst(), p1.getSecond(), p1.getCommonProjectsNum() + p2.getCommonProjectsNum()));
+        return larger;
+    }
+
+    /**
+     * Obtem o numero de pares a contar na parte dos projetos
+     * @return soma dos quadrados dos tamanhos das equipas
+     */
+    private long work() {
+        long work = 0;
+        for (int i = from; i < to; i++) {
+            long size = inHouses.get(i).getNumEmployees() + 1;
+            work += size * size;
+        }
+        return work;
+    }
+
+    /**
+     * Conta sequencialmente os pares da parte dos projetos: cada par de membros da equipa, e o manager com cada membro
+     * cujo username sucede o seu
+     * @return pares com projetos em comum indexados pela chave do par
+     */
+    private Map<Long, EmployeePair> count() {
+        Map<Long, EmployeePair> counts = new HashMap<>();
+        Employee[] team = new Employee[0];
+        for (int i = from; i < to; i++) {
+            InHouse inHouse = inHouses.get(i);
+            if (team.length < inHouse.getNumEmployees())
+                team = new Employee[inHouse.getNumEmployees()];
+            int size = 0;
+            Iterator<Employee> it = inHouse.listTeam();
+            while (it.hasNext())
+                team[size++] = it.next();
+
+            Manager manager = inHouse.getManager();
+            for (int j = 0; j < size; j++) {
+                for (int k = j + 1; k < size; k++)
+                    addCommonProject(counts, team[j], team[k]);
+                if (manager.getUsername().compareTo(team[j].getUsername()) < 0)
+                    addCommonProject(counts, manager, team[j]);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Incrementa o numero de projetos em comum de um par
+     * @param counts pares com projetos em comum indexados pela chave do par
+     * @param e1 employee do par
+     * @param e2 outro employee do par
+     */
+    private static void addCommonProject(Map<Long, EmployeePair> counts, Employee e1, Employee e2) {
+        Employee first = e1;
+        Employee second = e2;
+        if (first.getUsername().compareTo(second.getUsername()) > 0) {
+            first = e2;
+            second = e1;
+        }
+        long key = pairKey(first, second);
+        EmployeePair pair = counts.get(key);
+        if (pair == null) {
+            pair = new EmployeePairClass(first, second);
+            counts.put(key, pair);
+        }
+        pair.addCommonProject();
+    }
+
+    /**
+     * Obtem a chave de um par de employees nos indices de pares
+     * @param first employee do par com menor username
+     * @param second employee do par com maior username
+     * @return chave do par
+     */
+    static long pairKey(Employee first, Employee second) {
+        return (((long) first.getSymbol() << 32) | second.getSymbol()) * PAIR_KEY_MULTIPLIER;
+    }
+}
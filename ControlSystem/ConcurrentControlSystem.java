@@ -0,0 +1,749 @@
+package ControlSystem;
+
+import Exceptions.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class ConcurrentControlSystem extends ControlSystemDecorator {
+
+    // numero de locks das alteracoes a projetos (cada projeto usa o lock escolhido pelo hash do seu id)
+    private static final int STRIPES = 64;
+
+    // os registos, a criacao de projetos e os snapshots tem o lock de escrita; as alteracoes a projetos tem o de leitura
+    private ReadWriteLock structureLock;
+    // duas alteracoes ao mesmo projeto nunca sao feitas em paralelo, pois cada uma valida o projeto antes de o alterar
+    private Lock[] projectLocks;
+    // lock do estado partilhado do sistema decorado: as consultas tem o lock de leitura
+    private ReadWriteLock sharedLock;
+    private Lock readLock;
+
+    /**
+     * Construtor da class ConcurrentControlSystem: permite que varias threads usem o mesmo sistema, com as consultas em
+     * paralelo e as alteracoes a projetos diferentes validadas em paralelo (o sistema so aplica cada alteracao com o lock
+     * de escrita do estado partilhado, uma de cada vez); as listagens dos indices do sistema (users, projects, keyword,
+     * confidentiality, workaholics, common) percorrem uma versao imutavel, fixada enquanto o lock esta bloqueado, e as
+     * restantes sao copiadas, para que todas possam ser percorridas enquanto outras threads alteram o sistema
+     * @param delegate sistema partilhado (nao deve ser usado diretamente por nenhuma thread)
+     */
+    public ConcurrentControlSystem(ControlSystem delegate) {
+        super(delegate);
+        this.structureLock = new ReentrantReadWriteLock();
+        this.projectLocks = new Lock[STRIPES];
+        for (int i = 0; i < STRIPES; i++)
+            projectLocks[i] = new ReentrantLock();
+        this.sharedLock = delegate.getSharedLock();
+        this.readLock = sharedLock.readLock();
+    }
+
+    /**
+     * Obtem o lock das consultas, para agrupar varias chamadas numa vista consistente (por exemplo um comando inteiro do
+     * Main, que tambem percorre revisoes dos employees); so o lock de leitura deve ser usado, e como e reentrante os
+     * metodos de consulta do sistema podem ser chamados com ele bloqueado
+     * @return lock de leitura e escrita do estado partilhado do sistema
+     */
+    public ReadWriteLock getLock() {
+        return sharedLock;
+    }
+
+    /**
+     * Regista um manager no sistema
+     * @param username nome do manager a ser registado
+     * @param job cargo manager
+     * @param level nivel do manager
+     * @throws UnknownJobPositionException
+     * @throws UserAlreadyExistsException
+     */
+    @Override
+    public void register(String username, Job job, int level) throws UnknownJobPositionException, UserAlreadyExistsException {
+        lockStructure();
+        try {
+            delegate.register(username, job, level);
+        } finally {
+            unlockStructure();
+        }
+    }
+
+    /**
+     * Regista um developer no sistema
+     * @param username nome do developer a ser registado
+     * @param manager nome do manager do developer
+     * @param job cargo developer
+     * @param level nivel do developer
+     * @throws UnknownJobPositionException
+     * @throws UserAlreadyExistsException
+     * @throws ManagerDoesNotExistException
+     */
+    @Override
+    public void register(String username, String manager, Job job, int level) throws UnknownJobPositionException, UserAlreadyExistsException, ManagerDoesNotExistException {
+        lockStructure();
+        try {
+            delegate.register(username, manager, job, level);
+        } finally {
+            unlockStructure();
+        }
+    }
+
+    /**
+     * Cria um novo projeto In-House
+     * @param id nome do projeto a ser criado
+     * @param managerName nome do manager do projeto
+     * @param keywords descricao do projeto
+     * @param level nivel do projeto
+     * @throws UnknownProjectTypeException
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectAlreadyExistsException
+     */
+    @Override
+    public void createProject(String id, String managerName, String keywords, int level) throws ManagerDoesNotExistException, ProjectAlreadyExistsException, UnderClearanceLevelException {
+        lockStructure();
+        try {
+            delegate.createProject(id, managerName, keywords, level);
+        } finally {
+            unlockStructure();
+        }
+    }
+
+    /**
+     * Cria um novo projeto Outsourced
+     * @param id nome do projeto a ser criado
+     * @param managerName nome do manager do projeto
+     * @param keywords descricao do projeto
+     * @param company companhia a qual o projeto pertence
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectAlreadyExistsException
+     */
+    @Override
+    public void createProject(String id, String managerName, String keywords, String company) throws ManagerDoesNotExistException, ProjectAlreadyExistsException {
+        lockStructure();
+        try {
+            delegate.createProject(id, managerName, keywords, company);
+        } finally {
+            unlockStructure();
+        }
+    }
+
+    /**
+     * Adiciona um membro a um projeto
+     * @param managerName nome do manager do projeto
+     * @param id id do projeto
+     * @param member nome do membro a ser adicionado
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws ProjectNotManagedByUserException
+     * @throws MemberAlreadyInTeamException
+     * @throws EmployeeDoesNotExistException
+     * @throws InsufficientClearanceLevelException
+     */
+    @Override
+    public void addEmployeeToProject(String managerName, String id, String member) throws ManagerDoesNotExistException, ProjectDoesNotExistException, ProjectNotManagedByUserException, MemberAlreadyInTeamException, EmployeeDoesNotExistException, InsufficientClearanceLevelException {
+        lockProject(id);
+        try {
+            delegate.addEmployeeToProject(managerName, id, member);
+        } finally {
+            unlockProject(id);
+        }
+    }
+
+    /**
+     * Adiciona um artefacto a um projeto
+     * @param artefact artefacto a ser adicionado
+     * @param id id do projeto
+     * @param date data da criacao do artefacto
+     * @throws UserDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws MemberNotInTeamException
+     * @throws ArtefactAlreadyInProjectException
+     * @throws ArtefactHasHigherLevelException
+     * @throws EmployeeDoesNotExistException
+     */
+    @Override
+    public void addArtefactToProject(Artefact artefact, String id, LocalDate date) throws UserDoesNotExistException, ProjectDoesNotExistException, MemberNotInTeamException, ArtefactAlreadyInProjectException, ArtefactHasHigherLevelException, EmployeeDoesNotExistException {
+        lockProject(id);
+        try {
+            delegate.addArtefactToProject(artefact, id, date);
+        } finally {
+            unlockProject(id);
+        }
+    }
+
+    /**
+     * Adiciona varios membros a um projeto, validando o manager e o projeto uma unica vez
+     * @param managerName nome do manager do projeto
+     * @param id id do projeto
+     * @param members nomes dos membros a serem adicionados, pela ordem em que sao adicionados
+     * @return resultado de cada membro, pela mesma ordem (ADDED_TO_TEAM, ALREADY_MEMBER, EMPLOYEE_DOES_NOT_EXIST ou
+     * INSUFFICIENT_CLEARANCE_LEVEL)
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws ProjectNotManagedByUserException
+     */
+    @Override
+    public AddResult[] addTeamToProject(String managerName, String id, List<String> members) throws ManagerDoesNotExistException, ProjectDoesNotExistException, ProjectNotManagedByUserException {
+        lockProject(id);
+        try {
+            return delegate.addTeamToProject(managerName, id, members);
+        } finally {
+            unlockProject(id);
+        }
+    }
+
+    /**
+     * Adiciona varios artefactos de um employee a um projeto, validando o employee e o projeto uma unica vez
+     * @param username nome do employee dono dos artefactos
+     * @param id id do projeto
+     * @param date data da criacao dos artefactos
+     * @param artefacts artefactos criados com createArtefact para o employee, pela ordem em que sao adicionados
+     * @return resultado de cada artefacto, pela mesma ordem (ADDED_TO_PROJECT, ARTEFACT_ALREADY_IN_PROJECT ou
+     * ARTEFACT_HAS_HIGHER_LEVEL)
+     * @throws UserDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws MemberNotInTeamException
+     */
+    @Override
+    public AddResult[] addArtefactsToProject(String username, String id, LocalDate date, List<Artefact> artefacts) throws UserDoesNotExistException, ProjectDoesNotExistException, MemberNotInTeamException {
+        lockProject(id);
+        try {
+            return delegate.addArtefactsToProject(username, id, date, artefacts);
+        } finally {
+            unlockProject(id);
+        }
+    }
+
+    /**
+     * Cria um artefacto que guarda as suas revisoes no arquivo do sistema (so entra num projeto com addArtefactToProject)
+     * @param owner nome do dono do artefacto
+     * @param name nome do artefacto
+     * @param level nivel de acesso do artefacto
+     * @param description descricao do artefacto
+     * @param date data em que o artefacto foi criado
+     * @return artefacto criado
+     */
+    @Override
+    public Artefact createArtefact(String owner, String name, int level, String description, LocalDate date) {
+        readLock.lock();
+        try {
+            return delegate.createArtefact(owner, name, level, description, date);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Guarda o estado do sistema num snapshot binario (employees, projetos, equipas, artefactos e revisoes)
+     * @param fileName nome do ficheiro do snapshot
+     * @throws IOException
+     */
+    @Override
+    public void saveSnapshot(String fileName) throws IOException {
+        // nenhuma alteracao pode estar a meio (aplicada mas ainda nao escrita no journal, que o snapshot recomeca), mas
+        // as consultas continuam em paralelo
+        structureLock.writeLock().lock();
+        try {
+            delegate.saveSnapshot(fileName);
+        } finally {
+            structureLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Carrega num sistema vazio o estado guardado num snapshot, reconstruindo os indices derivados
+     * @param fileName nome do ficheiro do snapshot
+     * @throws IOException
+     * @throws InvalidSnapshotException
+     */
+    @Override
+    public void loadSnapshot(String fileName) throws IOException, InvalidSnapshotException {
+        lockStructure();
+        try {
+            delegate.loadSnapshot(fileName);
+        } finally {
+            unlockStructure();
+        }
+    }
+
+    /**
+     * Adiciona conjuntos vazios, ordenados por id, na List inHousesByConfidentiality (util para o comando confidentiality)
+     */
+    @Override
+    public void inHousesByConfidentialityInit() {
+        lockStructure();
+        try {
+            delegate.inHousesByConfidentialityInit();
+        } finally {
+            unlockStructure();
+        }
+    }
+
+    /**
+     * Adiciona uma revisao a um dado artefacto num projeto
+     * @param username nome do employee que fez a revisao
+     * @param id id do projeto
+     * @param artefactName nome do artefacto
+     * @param date data da revisao
+     * @param comment comentario da revisao
+     * @return numero da revisao que acabou de ser criada
+     * @throws UserDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws ArtefactDoesNotExistException
+     * @throws MemberNotInTeamException
+     * @throws EmployeeDoesNotExistException
+     */
+    @Override
+    public int addRevision(String username, String id, String artefactName, LocalDate date, String comment) throws UserDoesNotExistException, ProjectDoesNotExistException, ArtefactDoesNotExistException, MemberNotInTeamException, EmployeeDoesNotExistException {
+        lockProject(id);
+        try {
+            return delegate.addRevision(username, id, artefactName, date, comment);
+        } finally {
+            unlockProject(id);
+        }
+    }
+
+    /**
+     * Lista os employees do sistema
+     * @return iterador com todos os employees do sistema (versao fixada enquanto o sistema esta bloqueado)
+     * @throws EmptyUsersException
+     */
+    @Override
+    public Iterator<Employee> listUsers() throws EmptyUsersException {
+        readLock.lock();
+        try {
+            return delegate.listUsers();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Lista os projetos do sistema
+     * @return iterador com todos os projetos do sistema (versao fixada enquanto o sistema esta bloqueado)
+     * @throws EmptyProjectsException
+     */
+    @Override
+    public Iterator<Project> listProjects() throws EmptyProjectsException {
+        readLock.lock();
+        try {
+            return delegate.listProjects();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Obtem o employee com um dado nome
+     * @param username nome do employee a ser pesquisado
+     * @return employee com o dado nome
+     * @throws EmployeeDoesNotExistException
+     */
+    @Override
+    public Employee getEmployee(String username) throws EmployeeDoesNotExistException {
+        readLock.lock();
+        try {
+            return delegate.getEmployee(username);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Obtem o manager com um dado nome
+     * @param username nome do manager a ser pesquisado
+     * @return manager com o dado nome
+     * @throws ManagerDoesNotExistException
+     */
+    @Override
+    public Manager getManager(String username) throws ManagerDoesNotExistException {
+        readLock.lock();
+        try {
+            return delegate.getManager(username);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Obtem o projeto com um dado id
+     * @param id id do projeto a ser pesquisado
+     * @return projeto com o dado id
+     * @throws ProjectDoesNotExistException
+     */
+    @Override
+    public Project getProject(String id) throws ProjectDoesNotExistException {
+        readLock.lock();
+        try {
+            return delegate.getProject(id);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Obtem o projeto In-House com um dado id
+     * @param id id do projeto In-House a ser pesquisado
+     * @return projeto In-House com o dado id
+     * @throws ProjectDoesNotExistException
+     */
+    @Override
+    public InHouse getInHouse(String id) throws ProjectDoesNotExistException {
+        readLock.lock();
+        try {
+            return delegate.getInHouse(id);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Obtem o projeto In-House com um dado id (usado no comando projects, pois lanca mais uma excecao)
+     * @param id id do projeto In-House a ser pesquisado
+     * @return projeto In-House com o dado id
+     * @throws ProjectDoesNotExistException
+     * @throws OutsourcedProjectException
+     */
+    @Override
+    public InHouse getProjectInfo(String id) throws ProjectDoesNotExistException, OutsourcedProjectException {
+        readLock.lock();
+        try {
+            return delegate.getProjectInfo(id);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Verifica se um dado employee existe no sistema
+     * @param username nome do employee a ser pesquisado
+     * @return true se o employee existir no sistema / false caso contrario
+     */
+    @Override
+    public boolean hasUser(String username) {
+        readLock.lock();
+        try {
+            return delegate.hasUser(username);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Verifica se um dado manager existe no sistema
+     * @param username nome do manager a ser pesquisado
+     * @return true se o manager existir no sistema / false caso contrario
+     */
+    @Override
+    public boolean hasManager(String username) {
+        readLock.lock();
+        try {
+            return delegate.hasManager(username);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Verifica se um dado projeto existe no sistema
+     * @param id id do projeto a ser pesquisado
+     * @return true se o projeto existir no sistema / false caso contrario
+     */
+    @Override
+    public boolean hasProject(String id) {
+        readLock.lock();
+        try {
+            return delegate.hasProject(id);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Verifica se um projeto In-House existe no sistema
+     * @param id id do projeto In-House a ser pesquisado
+     * @return true se o projeto In-House existir no sistema / false caso contrario
+     */
+    @Override
+    public boolean hasInHouse(String id) {
+        readLock.lock();
+        try {
+            return delegate.hasInHouse(id);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Verifica se um dado projeto é Outsourced.
+     * @param id id do projeto Outsourced a ser pesquisado
+     * @return true se o projeto for Outsourced / false caso contrario
+     * @throws ProjectDoesNotExistException
+     */
+    @Override
+    public boolean isOutsourced(String id) throws ProjectDoesNotExistException {
+        readLock.lock();
+        try {
+            return delegate.isOutsourced(id);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Verifica se nenhum employee realizou pelo menos um update num artefacto
+     * @return true se nenhum employee realizou um update / false caso contrario
+     */
+    @Override
+    public boolean noUserMadeAnUpdate() {
+        readLock.lock();
+        try {
+            return delegate.noUserMadeAnUpdate();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Verifica se os employees tem um ou mais projetos em comum
+     * @return true se os employees tiverem um ou mais projetos em comum / false caso contrario
+     */
+    @Override
+    public boolean hasCommonProjects() {
+        readLock.lock();
+        try {
+            return delegate.hasCommonProjects();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Lista a equipa de um projeto
+     * @param id id do projeto
+     * @return iterador com todos os membros da equipa do projeto (copiado enquanto o sistema esta bloqueado)
+     * @throws ProjectDoesNotExistException
+     * @throws OutsourcedProjectException
+     */
+    @Override
+    public Iterator<Employee> listTeamInProject(String id) throws ProjectDoesNotExistException, OutsourcedProjectException {
+        readLock.lock();
+        try {
+            return copy(delegate.listTeamInProject(id));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Lista os artefactos de um projeto
+     * @param id id do projeto
+     * @return iterador com todos os artefactos do projeto (copiado enquanto o sistema esta bloqueado)
+     * @throws ProjectDoesNotExistException
+     * @throws OutsourcedProjectException
+     */
+    @Override
+    public Iterator<Artefact> listArtefactsInProject(String id) throws ProjectDoesNotExistException, OutsourcedProjectException {
+        readLock.lock();
+        try {
+            return copy(delegate.listArtefactsInProject(id));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Lista as revisoes de um artefacto
+     * @param artefact artefacto
+     * @return iterador com todas as revisoes do artefacto (copiado enquanto o sistema esta bloqueado)
+     */
+    @Override
+    public Iterator<Revision> listRevisions(Artefact artefact) {
+        readLock.lock();
+        try {
+            return copy(delegate.listRevisions(artefact));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Lista as revisoes de um artefacto com numeros num dado intervalo
+     * @param artefact artefacto
+     * @param from numero da primeira revisao do intervalo
+     * @param to numero da ultima revisao do intervalo
+     * @return iterador com as revisoes do artefacto no dado intervalo, da mais recente para a mais antiga (copiado enquanto o sistema esta bloqueado)
+     * @throws RevisionDoesNotExistException
+     */
+    @Override
+    public Iterator<Revision> listRevisions(Artefact artefact, int from, int to) throws RevisionDoesNotExistException {
+        readLock.lock();
+        try {
+            return copy(delegate.listRevisions(artefact, from, to));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Lista os developers que estao associados a um manager
+     * @param username nome do manager
+     * @return iterador com todos os developers associados ao manager (copiado enquanto o sistema esta bloqueado)
+     * @throws ManagerDoesNotExistException
+     */
+    @Override
+    public Iterator<Developer> listManagedDevelopers(String username) throws ManagerDoesNotExistException {
+        readLock.lock();
+        try {
+            return copy(delegate.listManagedDevelopers(username));
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Lista os projetos In-House que contem uma keyword
+     * @param keyword filtro keyword
+     * @return iterador com todos os projetos In-House que contem a keyword (versao fixada enquanto o sistema esta bloqueado)
+     * @throws NoProjectsWithKeywordException
+     */
+    @Override
+    public Iterator<InHouse> listInHousesByKeyword(String keyword) throws NoProjectsWithKeywordException {
+        readLock.lock();
+        try {
+            return delegate.listInHousesByKeyword(keyword);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Lista os projetos Outsourced que contem uma keyword
+     * @param keyword filtro keyword
+     * @return iterador com todos os projetos Outsourced que contem a keyword (versao fixada enquanto o sistema esta bloqueado)
+     * @throws NoProjectsWithKeywordException
+     */
+    @Override
+    public Iterator<Outsourced> listOutsourcedByKeyword(String keyword) throws NoProjectsWithKeywordException {
+        readLock.lock();
+        try {
+            return delegate.listOutsourcedByKeyword(keyword);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Lista os projetos In-House num dado intervalo de niveis de confidencialidade
+     * @param lower limite inferior de confidencialidade
+     * @param upper limite superior de confidencialidade
+     * @return iterador com todos os projetos In-House no dado intervalo de niveis de confidencialidade (versao fixada enquanto o sistema esta bloqueado)
+     * @throws NoProjectsWithinLevelsException
+     */
+    @Override
+    public Iterator<InHouse> listByConfidentiality(int lower, int upper) throws NoProjectsWithinLevelsException {
+        readLock.lock();
+        try {
+            return delegate.listByConfidentiality(lower, upper);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Obtem o numero de projetos In-House num dado intervalo de niveis de confidencialidade
+     * @param lower limite inferior de confidencialidade
+     * @param upper limite superior de confidencialidade
+     * @return numero de projetos In-House no dado intervalo de niveis de confidencialidade
+     */
+    @Override
+    public int getNumInHousesByConfidentiality(int lower, int upper) {
+        readLock.lock();
+        try {
+            return delegate.getNumInHousesByConfidentiality(lower, upper);
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Lista os 3 employees mais trabalhadores
+     * @return iterador com os 3 employees mais trabalhadores (versao fixada enquanto o sistema esta bloqueado)
+     * @throws NoWorkaholicsException
+     */
+    @Override
+    public Iterator<Employee> listWorkaholics() throws NoWorkaholicsException {
+        readLock.lock();
+        try {
+            return delegate.listWorkaholics();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Lista os 2 employees que tem mais projetos em comum
+     * @return iterador com os 2 employees que tem mais projetos em comum (versao fixada enquanto o sistema esta bloqueado)
+     * @throws NoCommonProjectsException
+     */
+    @Override
+    public Iterator<Employee> listCommon() throws NoCommonProjectsException {
+        readLock.lock();
+        try {
+            return delegate.listCommon();
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * Bloqueia o sistema para um registo, criacao de projeto ou carregamento de snapshot, que alteram o estado
+     * partilhado sem validar nenhum projeto: espera que terminem todas as alteracoes e consultas
+     */
+    private void lockStructure() {
+        structureLock.writeLock().lock();
+        sharedLock.writeLock().lock();
+    }
+
+    /**
+     * Liberta o bloqueio obtido com lockStructure
+     */
+    private void unlockStructure() {
+        sharedLock.writeLock().unlock();
+        structureLock.writeLock().unlock();
+    }
+
+    /**
+     * Bloqueia um projeto para ser alterado: as alteracoes a outros projetos e as consultas continuam em paralelo, e o
+     * sistema bloqueia o estado partilhado so enquanto aplica a alteracao
+     * @param id id do projeto a ser alterado
+     */
+    private void lockProject(String id) {
+        structureLock.readLock().lock();
+        projectLocks[Math.floorMod(id.hashCode(), STRIPES)].lock();
+    }
+
+    /**
+     * Liberta o bloqueio obtido com lockProject
+     * @param id id do projeto alterado
+     */
+    private void unlockProject(String id) {
+        projectLocks[Math.floorMod(id.hashCode(), STRIPES)].unlock();
+        structureLock.readLock().unlock();
+    }
+
+    /**
+     * Copia os elementos de um iterador, para que possam ser percorridos depois de o lock ser libertado
+     * @param it iterador a ser copiado
+     * @return iterador sobre a copia dos elementos
+     */
+    private static <E> Iterator<E> copy(Iterator<E> it) {
+        List<E> elements = new ArrayList<>();
+        while (it.hasNext())
+            elements.add(it.next());
+        return elements.iterator();
+    }
+}
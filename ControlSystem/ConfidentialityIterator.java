@@ -0,0 +1,65 @@
+package ControlSystem;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+public class ConfidentialityIterator implements Iterator<InHouse> {
+
+    private List<Iterator<InHouse>> levels;
+    private InHouse[] heads;
+    private Comparator<InHouse> comparator;
+
+    /**
+     * Construtor da class ConfidentialityIterator (junta, sem copiar, os projetos de varios niveis ja ordenados por id)
+     * @param levels iteradores dos projetos de cada nivel, cada um ordenado por id
+     */
+    public ConfidentialityIterator(List<Iterator<InHouse>> levels) {
+        this.levels = levels;
+        this.heads = new InHouse[levels.size()];
+        this.comparator = new ConfidentialityComparator();
+        for (int i = 0; i < heads.length; i++)
+            advance(i);
+    }
+
+    /**
+     * Verifica se ainda existem projetos por listar
+     * @return true se existirem projetos por listar / false caso contrario
+     */
+    @Override
+    public boolean hasNext() {
+        for (InHouse head : heads) {
+            if (head != null)
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Obtem o proximo projeto (o de menor id entre os primeiros de cada nivel)
+     * @return proximo projeto
+     */
+    @Override
+    public InHouse next() {
+        int min = -1;
+        for (int i = 0; i < heads.length; i++) {
+            if (heads[i] != null && (min == -1 || comparator.compare(heads[i], heads[min]) < 0))
+                min = i;
+        }
+        if (min == -1)
+            throw new NoSuchElementException();
+        InHouse next = heads[min];
+        advance(min);
+        return next;
+    }
+
+    /**
+     * Avanca o iterador de um nivel
+     * @param level posicao do nivel
+     */
+    private void advance(int level) {
+        Iterator<InHouse> it = levels.get(level);
+        heads[level] = it.hasNext() ? it.next() : null;
+    }
+}
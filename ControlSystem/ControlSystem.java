@@ -2,8 +2,11 @@ package ControlSystem;
 
 import Exceptions.*;
 
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
 
 public interface ControlSystem {
 
@@ -81,7 +84,80 @@ public interface ControlSystem {
     void addArtefactToProject(Artefact artefactName, String id, LocalDate date) throws UserDoesNotExistException, ProjectDoesNotExistException, MemberNotInTeamException, ArtefactAlreadyInProjectException, ArtefactHasHigherLevelException, EmployeeDoesNotExistException;
 
     /**
-     * Adiciona LinkedLists vazias na List inHousesByConfidentiality (util para o comando confidentiality)
+     * Adiciona varios membros a um projeto, validando o manager e o projeto uma unica vez
+     * @param managerName nome do manager do projeto
+     * @param id id do projeto
+     * @param members nomes dos membros a serem adicionados, pela ordem em que sao adicionados
+     * @return resultado de cada membro, pela mesma ordem (ADDED_TO_TEAM, ALREADY_MEMBER, EMPLOYEE_DOES_NOT_EXIST ou
+     * INSUFFICIENT_CLEARANCE_LEVEL)
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws ProjectNotManagedByUserException
+     */
+    AddResult[] addTeamToProject(String managerName, String id, List<String> members) throws ManagerDoesNotExistException, ProjectDoesNotExistException, ProjectNotManagedByUserException;
+
+    /**
+     * Adiciona varios artefactos de um employee a um projeto, validando o employee e o projeto uma unica vez
+     * @param username nome do employee dono dos artefactos
+     * @param id id do projeto
+     * @param date data da criacao dos artefactos
+     * @param artefacts artefactos criados com createArtefact para o employee, pela ordem em que sao adicionados
+     * @return resultado de cada artefacto, pela mesma ordem (ADDED_TO_PROJECT, ARTEFACT_ALREADY_IN_PROJECT ou
+     * ARTEFACT_HAS_HIGHER_LEVEL)
+     * @throws UserDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws MemberNotInTeamException
+     */
+    AddResult[] addArtefactsToProject(String username, String id, LocalDate date, List<Artefact> artefacts) throws UserDoesNotExistException, ProjectDoesNotExistException, MemberNotInTeamException;
+
+    /**
+     * Cria um artefacto que guarda as suas revisoes no arquivo do sistema (so entra num projeto com addArtefactToProject)
+     * @param owner nome do dono do artefacto
+     * @param name nome do artefacto
+     * @param level nivel de acesso do artefacto
+     * @param description descricao do artefacto
+     * @param date data em que o artefacto foi criado
+     * @return artefacto criado
+     */
+    Artefact createArtefact(String owner, String name, int level, String description, LocalDate date);
+
+    /**
+     * Guarda o estado do sistema num snapshot binario (employees, projetos, equipas, artefactos e revisoes)
+     * @param fileName nome do ficheiro do snapshot
+     * @throws IOException
+     */
+    void saveSnapshot(String fileName) throws IOException;
+
+    /**
+     * Carrega num sistema vazio o estado guardado num snapshot, reconstruindo os indices derivados
+     * @param fileName nome do ficheiro do snapshot
+     * @throws IOException
+     * @throws InvalidSnapshotException
+     */
+    void loadSnapshot(String fileName) throws IOException, InvalidSnapshotException;
+
+    /**
+     * Obtem a geracao do journal cujos registos ja estao no estado do sistema (guardada nos snapshots)
+     * @return geracao do journal ja contida no sistema, ou 0 se o sistema nao contiver nenhum journal
+     */
+    int getJournalGeneration();
+
+    /**
+     * Atribui a geracao do journal cujos registos ja estao no estado do sistema (antes de guardar um snapshot)
+     * @param generation geracao do journal ja contida no sistema
+     */
+    void setJournalGeneration(int generation);
+
+    /**
+     * Obtem o lock do estado partilhado entre projetos: as alteracoes a projetos In-House aplicam-se com o seu lock de
+     * escrita, depois de validadas; quem usa o sistema em varias threads bloqueia o lock de leitura nas consultas e o de
+     * escrita nas restantes alteracoes, e nunca altera o mesmo projeto em duas threads ao mesmo tempo
+     * @return lock de leitura e escrita do estado partilhado entre projetos
+     */
+    ReadWriteLock getSharedLock();
+
+    /**
+     * Adiciona conjuntos vazios, ordenados por id, na List inHousesByConfidentiality (util para o comando confidentiality)
      */
     void inHousesByConfidentialityInit();
 
@@ -244,6 +320,16 @@ public interface ControlSystem {
      */
     Iterator<Revision> listRevisions(Artefact artefact);
 
+    /**
+     * Lista as revisoes de um artefacto com numeros num dado intervalo
+     * @param artefact artefacto
+     * @param from numero da primeira revisao do intervalo
+     * @param to numero da ultima revisao do intervalo
+     * @return iterador com as revisoes do artefacto no dado intervalo, da mais recente para a mais antiga
+     * @throws RevisionDoesNotExistException
+     */
+    Iterator<Revision> listRevisions(Artefact artefact, int from, int to) throws RevisionDoesNotExistException;
+
     /**
      * Lista os developers que estao associados a um manager
      * @param username nome do manager
@@ -277,6 +363,14 @@ public interface ControlSystem {
      */
     Iterator<InHouse> listByConfidentiality(int lower, int upper) throws NoProjectsWithinLevelsException;
 
+    /**
+     * Obtem o numero de projetos In-House num dado intervalo de niveis de confidencialidade
+     * @param lower limite inferior de confidencialidade
+     * @param upper limite superior de confidencialidade
+     * @return numero de projetos In-House no dado intervalo de niveis de confidencialidade
+     */
+    int getNumInHousesByConfidentiality(int lower, int upper);
+
     /**
      * Lista os 3 employees mais trabalhadores
      * @return iterador com os 3 employees mais trabalhadores
@@ -1,27 +1,91 @@
 package ControlSystem;
 
 import Exceptions.*;
+import IO.SnapshotReader;
+import IO.SnapshotWriter;
 
+import java.io.EOFException;
+import java.io.IOException;
 import java.time.LocalDate;
 import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 public class ControlSystemClass implements ControlSystem {
 
-    private SortedMap<String, Employee> users;
-    private Map<String, Project> projects;
-    private Map<String, List<InHouse>> inHousesByKeyword;
-    private Map<String, List<Outsourced>> outsourcedByKeyword;
-    private List<List<InHouse>> inHousesByConfidentiality;
+    private static final int WORKAHOLICS_NUM = 3;
+    // cada par alterado um a um custa cerca de 2 log n copias de nos do commonProjects: a partir de 1/32 do tamanho do
+    // conjunto em pares alterados, o addTeamToProject reconstroi o conjunto uma unica vez no fim
+    private static final int REPOSITION_PAIRS_FACTOR = 32;
+
+    // formato dos snapshots (opcoes --save / --load do Main): identificador do ficheiro, versao e tipos de employees e projetos
+    private static final int SNAPSHOT_MAGIC = 0x43534e50;
+    private static final int SNAPSHOT_VERSION = 3;
+    private static final int SNAPSHOT_MANAGER = 0;
+    private static final int SNAPSHOT_DEVELOPER = 1;
+    private static final int SNAPSHOT_INHOUSE = 0;
+    private static final int SNAPSHOT_OUTSOURCED = 1;
+
+    // tabelas de simbolos: cada nome recebe um inteiro consecutivo no registo / criacao, e os nomes so sao usados para escrever
+    private SymbolTable userSymbols;
+    private SymbolTable projectSymbols;
+    private SymbolTable artefactSymbols;
+    private SymbolTable keywordSymbols;
+    // arquivo com todas as revisoes, referidas pela sua posicao nos artefactos, employees e projetos
+    private RevisionStore revisions;
+    // os indices das listagens sao versoes imutaveis (PersistentList / PersistentSortedSet): cada alteracao substitui a
+    // versao, e um iterador ja devolvido continua a percorrer a versao em que foi criado
+    // employees indexados pelo simbolo, e ordenados pelo nome (util para o comando users)
+    private List<Employee> employees;
+    private PersistentSortedSet<Employee> users;
+    // projetos indexados pelo simbolo, que e atribuido pela ordem de criacao (util para o comando projects)
+    private PersistentList<Project> projects;
+    // projetos In-House ordenados com o InHousesByKeywordComparator e Outsourced ordenados por id, indexados pelo simbolo da keyword (util para o comando keyword)
+    // (cada projeto esta uma unica vez no conjunto da keyword, e o KeywordIterator repete-o por cada ocorrencia da keyword)
+    private List<PersistentSortedSet<InHouse>> inHousesByKeyword;
+    private List<PersistentSortedSet<Outsourced>> outsourcedByKeyword;
+    // projetos In-House de cada nivel ordenados por id (util para o comando confidentiality)
+    private List<PersistentSortedSet<InHouse>> inHousesByConfidentiality;
+    // pares de employees com projetos em comum, indexados pelos simbolos do par (util para o comando common)
+    private Map<Long, EmployeePair> pairsBySymbols;
+    private PersistentSortedSet<EmployeePair> commonProjects;
+    // employees com pelo menos um update, ordenados com o EmployeeComparator (util para o comando workaholics)
+    private PersistentSortedSet<Employee> workaholics;
+    // pares alterados por um addTeamToProject com muitos pares, repostos no commonProjects no fim (null fora desse caso)
+    private List<EmployeePair> changedPairs;
+    // true enquanto um snapshot e reposto: os pares, os workaholics e as listas das keywords so sao reconstruidos no fim
+    private boolean rebuildingIndexes;
+    // geracao do journal cujos registos ja estao no sistema (os registos dessa geracao nao sao repostos por cima do snapshot)
+    private int journalGeneration;
+    // lock do estado partilhado entre projetos (arquivo, employees, simbolos dos artefactos, pares e indices): as
+    // alteracoes a um projeto validam-no fora dele e so aplicam a alteracao com o lock de escrita (ver getSharedLock)
+    private ReadWriteLock sharedLock;
+    private Lock sharedWriteLock;
 
     /**
      * Construtor da class ControlSystemClass
      */
     public ControlSystemClass() {
-        this.users = new TreeMap<>();
-        this.projects = new LinkedHashMap<>();
-        this.inHousesByKeyword = new HashMap<>();
-        this.outsourcedByKeyword = new HashMap<>();
-        this.inHousesByConfidentiality = new LinkedList<>();
+        this.userSymbols = new SymbolTableClass();
+        this.projectSymbols = new SymbolTableClass();
+        this.artefactSymbols = new SymbolTableClass();
+        this.keywordSymbols = new SymbolTableClass();
+        this.revisions = new RevisionStoreClass(userSymbols, artefactSymbols, projectSymbols);
+        this.employees = new ArrayList<>();
+        this.users = new PersistentSortedSet<>(new UsernameComparator());
+        this.projects = new PersistentList<>();
+        this.inHousesByKeyword = new ArrayList<>();
+        this.outsourcedByKeyword = new ArrayList<>();
+        this.inHousesByConfidentiality = new ArrayList<>();
+        this.pairsBySymbols = new HashMap<>();
+        this.commonProjects = new PersistentSortedSet<>(new EmployeePairComparator());
+        this.workaholics = new PersistentSortedSet<>(new EmployeeComparator());
+        this.changedPairs = null;
+        this.rebuildingIndexes = false;
+        this.journalGeneration = 0;
+        this.sharedLock = new ReentrantReadWriteLock();
+        this.sharedWriteLock = sharedLock.writeLock();
         inHousesByConfidentialityInit();
     }
 
@@ -37,7 +101,7 @@ public class ControlSystemClass implements ControlSystem {
     public void register(String username, Job job, int level) throws UnknownJobPositionException, UserAlreadyExistsException {
         if (hasUser(username))
             throw new UserAlreadyExistsException(username);
-        users.put(username, new ManagerClass(username, job, level));
+        addManager(username, job, level);
     }
 
     /**
@@ -56,10 +120,7 @@ public class ControlSystemClass implements ControlSystem {
             throw new UserAlreadyExistsException(username);
         else if (!hasManager(managerName))
             throw new ManagerDoesNotExistException(managerName);
-        Manager manager = getManager(managerName);
-        Developer developer = new DeveloperClass(username, manager, job, level);
-        users.put(username, developer);
-        manager.addDeveloper(developer);
+        addDeveloper(username, getManager(managerName), job, level);
     }
 
     /**
@@ -82,20 +143,7 @@ public class ControlSystemClass implements ControlSystem {
         else if (getManager(managerName).getLevel() < level)
             throw new UnderClearanceLevelException(managerName, getManager(managerName).getLevel());
 
-        Manager manager = getManager(managerName);
-        InHouse project = new InHouseClass(id, manager, keywords, level);
-        projects.put(id, project);
-
-        for (String keyword : keywords.split(" ")) {
-            if (!inHousesByKeyword.containsKey(keyword)) {
-                inHousesByKeyword.put(keyword, new LinkedList<InHouse>());
-            }
-            inHousesByKeyword.get(keyword).add(project);
-        }
-
-        inHousesByConfidentiality.get(project.getLevel()).add(project);
-
-        manager.addManagedProject(project);
+        addInHouse(id, getManager(managerName), keywords, level);
     }
 
     /**
@@ -113,17 +161,7 @@ public class ControlSystemClass implements ControlSystem {
             throw new ManagerDoesNotExistException(managerName);
         if (hasProject(id))
             throw new ProjectAlreadyExistsException(id);
-        Manager manager = getManager(managerName);
-        Outsourced project = new OutsourcedClass(id, manager, keywords, company);
-        projects.put(id, project);
-
-        for (String keyword : keywords.split(" ")) {
-            if (!outsourcedByKeyword.containsKey(keyword)) {
-                outsourcedByKeyword.put(keyword, new LinkedList<Outsourced>());
-            }
-            outsourcedByKeyword.get(keyword).add(project);
-        }
-        manager.addManagedProject(project);
+        addOutsourced(id, getManager(managerName), keywords, company);
     }
 
     /**
@@ -147,20 +185,25 @@ public class ControlSystemClass implements ControlSystem {
 
         InHouse inHouse = getInHouse(id);
 
-        if (!inHouse.getManagerUsername().equals(managerName))
+        int managerSymbol = userSymbols.lookup(managerName);
+        if (inHouse.getManager().getSymbol() != managerSymbol)
             throw new ProjectNotManagedByUserException(id, inHouse.getManagerUsername());
 
-        if (inHouse.hasEmployee(member) || member.equals(managerName))
+        int memberSymbol = userSymbols.lookup(member);
+        if (inHouse.hasEmployee(memberSymbol) || memberSymbol == managerSymbol)
             throw new MemberAlreadyInTeamException(member);
         if (getEmployee(member).getLevel() < inHouse.getLevel())
             throw new InsufficientClearanceLevelException(member);
         if (!hasUser(member))
             throw new EmployeeDoesNotExistException(member);
 
-        Employee employee = getEmployee(member);
-        inHouse.addEmployee(employee);
-        employee.addProject(inHouse);
-        inHouse.getManager().addProject(inHouse);
+        sharedWriteLock.lock();
+        try {
+            addToTeam(inHouse, getEmployee(member));
+            inHouse.getManager().addProject(inHouse);
+        } finally {
+            sharedWriteLock.unlock();
+        }
     }
 
     /**
@@ -178,36 +221,681 @@ public class ControlSystemClass implements ControlSystem {
     @Override
     public void addArtefactToProject(Artefact artefact, String id, LocalDate date) throws UserDoesNotExistException, ProjectDoesNotExistException, MemberNotInTeamException, ArtefactAlreadyInProjectException, ArtefactHasHigherLevelException, EmployeeDoesNotExistException {
         String employeeName = artefact.getOwner();
+        int employeeSymbol = userSymbols.lookup(employeeName);
 
-        if (!hasUser(employeeName))
+        if (employeeSymbol == SymbolTable.NO_SYMBOL)
             throw new UserDoesNotExistException(employeeName);
         if (!hasInHouse(id))
             throw new ProjectDoesNotExistException(id);
 
         InHouse inHouse = getInHouse(id);
 
-        if (!inHouse.hasEmployee(employeeName) && !inHouse.getManagerUsername().equals(employeeName))
+        if (!inHouse.hasEmployee(employeeSymbol) && inHouse.getManager().getSymbol() != employeeSymbol)
             throw new MemberNotInTeamException(employeeName, id);
-        if (inHouse.hasArtefact(artefact.getName()))
-            throw new ArtefactAlreadyInProjectException(artefact.getName());
-        if (artefact.getLevel() > inHouse.getLevel())
-            throw new ArtefactHasHigherLevelException(artefact.getName());
 
+        sharedWriteLock.lock();
+        try {
+            if (inHouse.hasArtefact(artefactSymbols.lookup(artefact.getName())))
+                throw new ArtefactAlreadyInProjectException(artefact.getName());
+            if (artefact.getLevel() > inHouse.getLevel())
+                throw new ArtefactHasHigherLevelException(artefact.getName());
+
+            Employee employee = employees.get(employeeSymbol);
+            removeFromKeywordIndex(inHouse);
+            removeWorkaholic(employee);
+            addToProject(inHouse, employee, artefact, date);
+            addToKeywordIndex(inHouse);
+            addWorkaholic(employee);
+        } finally {
+            sharedWriteLock.unlock();
+        }
+    }
+
+    /**
+     * Adiciona varios membros a um projeto, validando o manager e o projeto uma unica vez
+     * @param managerName nome do manager do projeto
+     * @param id id do projeto
+     * @param members nomes dos membros a serem adicionados, pela ordem em que sao adicionados
+     * @return resultado de cada membro, pela mesma ordem (ADDED_TO_TEAM, ALREADY_MEMBER, EMPLOYEE_DOES_NOT_EXIST ou
+     * INSUFFICIENT_CLEARANCE_LEVEL)
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws ProjectNotManagedByUserException
+     */
+    @Override
+    public AddResult[] addTeamToProject(String managerName, String id, List<String> members) throws ManagerDoesNotExistException, ProjectDoesNotExistException, ProjectNotManagedByUserException {
+        if (!hasManager(managerName))
+            throw new ManagerDoesNotExistException(managerName);
+        if (!hasInHouse(id))
+            throw new ProjectDoesNotExistException(id);
+
+        InHouse inHouse = getInHouse(id);
+
+        int managerSymbol = userSymbols.lookup(managerName);
+        if (inHouse.getManager().getSymbol() != managerSymbol)
+            throw new ProjectNotManagedByUserException(id, inHouse.getManagerUsername());
+
+        // cada membro e validado pela mesma ordem do addEmployeeToProject, mas sem lancar uma excecao por membro
+        AddResult[] results = new AddResult[members.size()];
+        sharedWriteLock.lock();
+        try {
+            boolean added = false;
+            int i = 0;
+            long maxChangedPairs = (long) members.size() * (inHouse.getNumEmployees() + members.size());
+            if (maxChangedPairs * REPOSITION_PAIRS_FACTOR >= commonProjects.size())
+                changedPairs = new ArrayList<>();
+            try {
+                for (String member : members) {
+                    int memberSymbol = userSymbols.lookup(member);
+                    if (inHouse.hasEmployee(memberSymbol) || memberSymbol == managerSymbol)
+                        results[i++] = AddResult.ALREADY_MEMBER;
+                    else if (memberSymbol == SymbolTable.NO_SYMBOL)
+                        results[i++] = AddResult.EMPLOYEE_DOES_NOT_EXIST;
+                    else if (employees.get(memberSymbol).getLevel() < inHouse.getLevel())
+                        results[i++] = AddResult.INSUFFICIENT_CLEARANCE_LEVEL;
+                    else {
+                        try {
+                            addToTeam(inHouse, employees.get(memberSymbol));
+                            results[i] = AddResult.ADDED_TO_TEAM;
+                            added = true;
+                        } catch (MemberAlreadyInTeamException e) {
+                            results[i] = AddResult.ALREADY_MEMBER;
+                        }
+                        i++;
+                    }
+                }
+            } finally {
+                if (changedPairs != null) {
+                    commonProjects = commonProjects.reposition(changedPairs);
+                    changedPairs = null;
+                }
+            }
+            if (added)
+                inHouse.getManager().addProject(inHouse);
+        } finally {
+            sharedWriteLock.unlock();
+        }
+        return results;
+    }
+
+    /**
+     * Adiciona varios artefactos de um employee a um projeto, validando o employee e o projeto uma unica vez
+     * @param username nome do employee dono dos artefactos
+     * @param id id do projeto
+     * @param date data da criacao dos artefactos
+     * @param artefacts artefactos criados com createArtefact para o employee, pela ordem em que sao adicionados
+     * @return resultado de cada artefacto, pela mesma ordem (ADDED_TO_PROJECT, ARTEFACT_ALREADY_IN_PROJECT ou
+     * ARTEFACT_HAS_HIGHER_LEVEL)
+     * @throws UserDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws MemberNotInTeamException
+     */
+    @Override
+    public AddResult[] addArtefactsToProject(String username, String id, LocalDate date, List<Artefact> artefacts) throws UserDoesNotExistException, ProjectDoesNotExistException, MemberNotInTeamException {
+        int employeeSymbol = userSymbols.lookup(username);
+
+        if (employeeSymbol == SymbolTable.NO_SYMBOL)
+            throw new UserDoesNotExistException(username);
+        if (!hasInHouse(id))
+            throw new ProjectDoesNotExistException(id);
+
+        InHouse inHouse = getInHouse(id);
+
+        if (!inHouse.hasEmployee(employeeSymbol) && inHouse.getManager().getSymbol() != employeeSymbol)
+            throw new MemberNotInTeamException(username, id);
+
+        // o projeto e o employee saem dos seus indices antes do primeiro artefacto e voltam uma unica vez no fim
+        AddResult[] results = new AddResult[artefacts.size()];
+        sharedWriteLock.lock();
+        try {
+            Employee employee = employees.get(employeeSymbol);
+            boolean added = false;
+            int i = 0;
+            for (Artefact artefact : artefacts) {
+                if (inHouse.hasArtefact(artefactSymbols.lookup(artefact.getName())))
+                    results[i++] = AddResult.ARTEFACT_ALREADY_IN_PROJECT;
+                else if (artefact.getLevel() > inHouse.getLevel())
+                    results[i++] = AddResult.ARTEFACT_HAS_HIGHER_LEVEL;
+                else {
+                    if (!added) {
+                        removeFromKeywordIndex(inHouse);
+                        removeWorkaholic(employee);
+                        added = true;
+                    }
+                    try {
+                        addToProject(inHouse, employee, artefact, date);
+                        results[i] = AddResult.ADDED_TO_PROJECT;
+                    } catch (ArtefactAlreadyInProjectException e) {
+                        results[i] = AddResult.ARTEFACT_ALREADY_IN_PROJECT;
+                    }
+                    i++;
+                }
+            }
+            if (added) {
+                addToKeywordIndex(inHouse);
+                addWorkaholic(employee);
+            }
+        } finally {
+            sharedWriteLock.unlock();
+        }
+        return results;
+    }
+
+    /**
+     * Junta um employee a equipa de um projeto, atualizando os pares em comum e a ordenacao dos workaholics
+     * @param inHouse projeto In-House
+     * @param employee employee a ser adicionado (ja validado)
+     * @throws MemberAlreadyInTeamException
+     */
+    private void addToTeam(InHouse inHouse, Employee employee) throws MemberAlreadyInTeamException {
+        addCommonProject(inHouse, employee);
+        inHouse.addEmployee(employee);
+        removeWorkaholic(employee);
+        employee.addProject(inHouse);
+        addWorkaholic(employee);
+    }
+
+    /**
+     * Regista o nome de um artefacto, guarda a sua primeira revisao e junta-o a um projeto (o projeto e o employee ja
+     * foram retirados dos indices das keywords e dos workaholics)
+     * @param inHouse projeto In-House
+     * @param employee dono do artefacto
+     * @param artefact artefacto a ser adicionado (ja validado)
+     * @param date data da criacao do artefacto
+     * @throws ArtefactAlreadyInProjectException
+     */
+    private void addToProject(InHouse inHouse, Employee employee, Artefact artefact, LocalDate date) throws ArtefactAlreadyInProjectException {
+        artefact.setSymbol(artefactSymbols.intern(artefact.getName()));
+        int revision = revisions.addRevision(artefact.getRevisionNum(), employee.getSymbol(), (int) date.toEpochDay(), artefact.getDescription(), artefact.getSymbol(), inHouse.getSymbol());
+        artefact.addRevision(revision);
         inHouse.addArtefact(artefact);
-        Employee employee = getEmployee(employeeName);
-        Revision revision = new RevisionClass(1, employeeName, date, artefact.getDescription(), artefact.getName(), inHouse.getId());
         inHouse.addRevision(revision);
         employee.addRevision(revision);
     }
 
     /**
-     * Adiciona LinkedLists vazias na List inHousesByConfidentiality (util para o comando confidentiality)
+     * Cria um artefacto que guarda as suas revisoes no arquivo do sistema (so entra num projeto com addArtefactToProject,
+     * e so entao o seu nome e registado na tabela de simbolos)
+     * @param owner nome do dono do artefacto
+     * @param name nome do artefacto
+     * @param level nivel de acesso do artefacto
+     * @param description descricao do artefacto
+     * @param date data em que o artefacto foi criado
+     * @return artefacto criado
+     */
+    @Override
+    public Artefact createArtefact(String owner, String name, int level, String description, LocalDate date) {
+        return new ArtefactClass(revisions, owner, name, artefactSymbols.lookup(name), level, description, date);
+    }
+
+    /**
+     * Guarda o estado do sistema num snapshot binario (employees, projetos, equipas, artefactos e revisoes);
+     * os indices derivados (keywords, confidencialidade, workaholics e pares em comum) nao sao guardados
+     * @param fileName nome do ficheiro do snapshot
+     * @throws IOException
+     */
+    @Override
+    public void saveSnapshot(String fileName) throws IOException {
+        try (SnapshotWriter out = new SnapshotWriter(fileName)) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(journalGeneration);
+
+            out.writeInt(employees.size());
+            for (Employee employee : employees) {
+                boolean developer = employee instanceof Developer;
+                out.writeByte(developer ? SNAPSHOT_DEVELOPER : SNAPSHOT_MANAGER);
+                out.writeString(employee.getUsername());
+                out.writeInt(employee.getLevel());
+                if (developer)
+                    out.writeInt(userSymbols.lookup(((Developer) employee).getManager()));
+            }
+
+            out.writeInt(projects.size());
+            for (Project project : projects) {
+                boolean inHouse = project instanceof InHouse;
+                out.writeByte(inHouse ? SNAPSHOT_INHOUSE : SNAPSHOT_OUTSOURCED);
+                out.writeString(project.getId());
+                out.writeInt(project.getManager().getSymbol());
+                out.writeString(project.getKeywords());
+                if (inHouse)
+                    out.writeInt(((InHouse) project).getLevel());
+                else
+                    out.writeString(((Outsourced) project).getCompany());
+            }
+            for (Project project : projects) {
+                if (project instanceof InHouse) {
+                    InHouse inHouse = (InHouse) project;
+                    out.writeInt(inHouse.getNumEmployees());
+                    Iterator<Employee> it = inHouse.listTeam();
+                    while (it.hasNext())
+                        out.writeInt(it.next().getSymbol());
+                }
+            }
+
+            out.writeInt(artefactSymbols.size());
+            for (int i = 0; i < artefactSymbols.size(); i++)
+                out.writeString(artefactSymbols.resolve(i));
+
+            // colunas do arquivo em bloco, seguidas dos niveis dos artefactos (pela ordem das suas primeiras revisoes)
+            // e da linha temporal de cada employee, para que o loadSnapshot nao tenha de as ordenar de novo
+            revisions.save(out);
+            IntList levels = new IntList();
+            for (int i = 0; i < revisions.size(); i++) {
+                if (revisions.getNumber(i) == 1) {
+                    InHouse inHouse = (InHouse) projects.get(revisions.getProjectSymbol(i));
+                    levels.add(inHouse.getArtefact(revisions.getArtefactSymbol(i)).getLevel());
+                }
+            }
+            out.writeInt(levels.size());
+            out.writeInts(levels.toArray(), 0, levels.size());
+            for (Employee employee : employees) {
+                int[] timeline = employee.getRevisionPositions();
+                out.writeInt(timeline.length);
+                out.writeInts(timeline, 0, timeline.length);
+            }
+            out.finish();
+        }
+    }
+
+    /**
+     * Carrega num sistema vazio o estado guardado num snapshot: os employees, projetos e artefactos sao criados
+     * diretamente (recebendo os mesmos simbolos), as colunas do arquivo e as linhas temporais dos employees sao copiadas
+     * em bloco do ficheiro mapeado, e so os indices derivados sao reconstruidos no fim
+     * @param fileName nome do ficheiro do snapshot
+     * @throws IOException
+     * @throws InvalidSnapshotException
+     */
+    @Override
+    public void loadSnapshot(String fileName) throws IOException, InvalidSnapshotException {
+        if (!employees.isEmpty())
+            throw new IllegalStateException("A snapshot can only be loaded into an empty system");
+        rebuildingIndexes = true;
+        try (SnapshotReader in = new SnapshotReader(fileName)) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION)
+                throw new InvalidSnapshotException(fileName);
+            journalGeneration = in.readInt();
+
+            int numEmployees = in.readInt();
+            for (int i = 0; i < numEmployees; i++) {
+                int kind = in.readByte();
+                String username = in.readString();
+                int level = in.readInt();
+                if (hasUser(username))
+                    throw new InvalidSnapshotException(fileName);
+                if (kind == SNAPSHOT_DEVELOPER)
+                    addDeveloper(username, (Manager) employees.get(in.readInt()), Job.DEVELOPER, level);
+                else
+                    addManager(username, Job.MANAGER, level);
+            }
+
+            int numProjects = in.readInt();
+            for (int i = 0; i < numProjects; i++) {
+                int kind = in.readByte();
+                String id = in.readString();
+                Manager manager = (Manager) employees.get(in.readInt());
+                String keywords = in.readString();
+                if (hasProject(id))
+                    throw new InvalidSnapshotException(fileName);
+                if (kind == SNAPSHOT_INHOUSE)
+                    addInHouse(id, manager, keywords, in.readInt());
+                else
+                    addOutsourced(id, manager, keywords, in.readString());
+            }
+            for (Project project : projects) {
+                if (project instanceof InHouse) {
+                    InHouse inHouse = (InHouse) project;
+                    int teamSize = in.readInt();
+                    for (int i = 0; i < teamSize; i++) {
+                        Employee member = employees.get(in.readInt());
+                        inHouse.addEmployee(member);
+                        member.addProject(inHouse);
+                    }
+                    if (teamSize > 0)
+                        inHouse.getManager().addProject(inHouse);
+                }
+            }
+
+            int numArtefactNames = in.readInt();
+            for (int i = 0; i < numArtefactNames; i++) {
+                if (artefactSymbols.intern(in.readString()) != i)
+                    throw new InvalidSnapshotException(fileName);
+            }
+
+            revisions.load(in);
+            int[] levels = new int[in.readLength(Integer.BYTES)];
+            in.readInts(levels, 0, levels.length);
+            loadArtefacts(fileName, levels);
+
+            int numTimelineRevisions = 0;
+            for (Employee employee : employees) {
+                int[] timeline = new int[in.readLength(Integer.BYTES)];
+                in.readInts(timeline, 0, timeline.length);
+                for (int revision : timeline) {
+                    if (revision < 0 || revision >= revisions.size() || revisions.getOwnerSymbol(revision) != employee.getSymbol())
+                        throw new InvalidSnapshotException(fileName);
+                }
+                employee.loadRevisions(timeline);
+                numTimelineRevisions += timeline.length;
+            }
+            if (numTimelineRevisions != revisions.size() || !in.atEnd())
+                throw new InvalidSnapshotException(fileName);
+        } catch (EOFException e) {
+            throw new InvalidSnapshotException(fileName);
+        } catch (IOException | InvalidSnapshotException e) {
+            throw e;
+        } catch (Exception e) {
+            // um simbolo fora dos limites ou uma entidade repetida so acontecem com um snapshot corrompido
+            throw new InvalidSnapshotException(fileName);
+        } finally {
+            rebuildingIndexes = false;
+            rebuildIndexes();
+        }
+    }
+
+    /**
+     * Cria os artefactos a partir das colunas do arquivo ja carregadas: a primeira revisao de cada artefacto cria-o e as
+     * seguintes sao-lhe adicionadas pela ordem do arquivo; cada artefacto so entra no seu projeto no fim, ja com a data
+     * da sua ultima revisao (a ordenacao dos artefactos do projeto depende dela)
+     * @param fileName nome do ficheiro do snapshot
+     * @param levels niveis dos artefactos, pela ordem das suas primeiras revisoes
+     * @throws InvalidSnapshotException
+     * @throws ArtefactAlreadyInProjectException
+     */
+    private void loadArtefacts(String fileName, int[] levels) throws InvalidSnapshotException, ArtefactAlreadyInProjectException {
+        Map<Long, Artefact> artefactsByKey = new HashMap<>();
+        int created = 0;
+        for (int i = 0; i < revisions.size(); i++) {
+            InHouse inHouse = (InHouse) projects.get(revisions.getProjectSymbol(i));
+            long key = ((long) inHouse.getSymbol() << 32) | revisions.getArtefactSymbol(i);
+            Artefact artefact = artefactsByKey.get(key);
+            if (revisions.getNumber(i) == 1 && artefact == null && created < levels.length) {
+                artefact = new ArtefactClass(revisions, revisions.getOwner(i), revisions.getArtefact(i), revisions.getArtefactSymbol(i), levels[created++], revisions.getComment(i), Dates.toLocalDate(revisions.getEpochDay(i)));
+                artefactsByKey.put(key, artefact);
+            } else if (artefact == null || artefact.getRevisionNum() != revisions.getNumber(i))
+                throw new InvalidSnapshotException(fileName);
+            artefact.addRevision(i);
+            inHouse.addRevision(i);
+        }
+        if (created != levels.length)
+            throw new InvalidSnapshotException(fileName);
+        for (Map.Entry<Long, Artefact> entry : artefactsByKey.entrySet())
+            ((InHouse) projects.get((int) (entry.getKey() >>> 32))).addLoadedArtefact(entry.getValue());
+    }
+
+    /**
+     * Obtem a geracao do journal cujos registos ja estao no estado do sistema (guardada nos snapshots)
+     * @return geracao do journal ja contida no sistema, ou 0 se o sistema nao contiver nenhum journal
+     */
+    @Override
+    public int getJournalGeneration() {
+        return journalGeneration;
+    }
+
+    /**
+     * Atribui a geracao do journal cujos registos ja estao no estado do sistema (antes de guardar um snapshot)
+     * @param generation geracao do journal ja contida no sistema
+     */
+    @Override
+    public void setJournalGeneration(int generation) {
+        journalGeneration = generation;
+    }
+
+    /**
+     * Obtem o lock do estado partilhado entre projetos: as alteracoes a projetos In-House (equipas, artefactos e revisoes)
+     * aplicam-se com o seu lock de escrita, depois de validadas; quem usa o sistema em varias threads bloqueia o lock de
+     * leitura nas consultas e o de escrita nas restantes alteracoes (registos, criacao de projetos e snapshots), e nunca
+     * altera o mesmo projeto em duas threads ao mesmo tempo
+     * @return lock de leitura e escrita do estado partilhado entre projetos
+     */
+    @Override
+    public ReadWriteLock getSharedLock() {
+        return sharedLock;
+    }
+
+    /**
+     * Reconstroi de uma vez os indices que o loadSnapshot nao atualiza ao criar cada entidade: os employees por
+     * username, os pares de employees com projetos em comum (contados em paralelo com o CommonProjectsTask), os
+     * workaholics e as listas das keywords (ordenados com o Arrays.parallelSort, que so usa varias threads a partir de alguns milhares de elementos);
+     * os conjuntos resultantes sao os mesmos que as alteracoes uma a uma produziriam, pois os comparadores sao totais
+     */
+    private void rebuildIndexes() {
+        Employee[] byUsername = employees.toArray(new Employee[0]);
+        Comparator<Employee> usernameComparator = new UsernameComparator();
+        Arrays.parallelSort(byUsername, usernameComparator);
+        users = new PersistentSortedSet<>(usernameComparator, byUsername);
+
+        List<InHouse> inHouses = new ArrayList<>();
+        for (Project project : projects) {
+            if (project instanceof InHouse)
+                inHouses.add((InHouse) project);
+        }
+
+        pairsBySymbols = new CommonProjectsTask(inHouses, 0, inHouses.size()).invoke();
+        // os pares sao ordenados pela posicao dos usernames na ordem dos users em vez de compararem as strings: a ordem
+        // e a mesma do EmployeePairComparator, pois os usernames sao unicos
+        int[] usernameRanks = new int[byUsername.length];
+        for (int i = 0; i < byUsername.length; i++)
+            usernameRanks[byUsername[i].getSymbol()] = i;
+        EmployeePair[] pairs = pairsBySymbols.values().toArray(new EmployeePair[0]);
+        Arrays.parallelSort(pairs, (p1, p2) -> {
+            if (p1.getCommonProjectsNum() != p2.getCommonProjectsNum())
+                return Integer.compare(p2.getCommonProjectsNum(), p1.getCommonProjectsNum());
+            int first = Integer.compare(usernameRanks[p1.getFirst().getSymbol()], usernameRanks[p2.getFirst().getSymbol()]);
+            if (first != 0)
+                return first;
+            return Integer.compare(usernameRanks[p1.getSecond().getSymbol()], usernameRanks[p2.getSecond().getSymbol()]);
+        });
+        commonProjects = new PersistentSortedSet<>(new EmployeePairComparator(), pairs);
+
+        List<Employee> updated = new ArrayList<>();
+        for (Employee employee : employees) {
+            if (employee.getUpdates() > 0)
+                updated.add(employee);
+        }
+        Employee[] ranking = updated.toArray(new Employee[0]);
+        Comparator<Employee> employeeComparator = new EmployeeComparator();
+        Arrays.parallelSort(ranking, employeeComparator);
+        workaholics = new PersistentSortedSet<>(employeeComparator, ranking);
+
+        List<List<InHouse>> byKeyword = new ArrayList<>(inHousesByKeyword.size());
+        for (int i = 0; i < inHousesByKeyword.size(); i++)
+            byKeyword.add(new ArrayList<>());
+        for (InHouse inHouse : inHouses) {
+            // uma keyword repetida no projeto so o junta uma vez a lista, tal como o add do conjunto ordenado
+            for (int keyword : inHouse.getKeywordSymbols()) {
+                List<InHouse> list = byKeyword.get(keyword);
+                if (list.isEmpty() || list.get(list.size() - 1) != inHouse)
+                    list.add(inHouse);
+            }
+        }
+        Comparator<InHouse> keywordComparator = new InHousesByKeywordComparator();
+        for (int i = 0; i < byKeyword.size(); i++) {
+            InHouse[] sorted = byKeyword.get(i).toArray(new InHouse[0]);
+            Arrays.parallelSort(sorted, keywordComparator);
+            inHousesByKeyword.set(i, new PersistentSortedSet<>(keywordComparator, sorted));
+        }
+    }
+
+    /**
+     * Regista um employee ja criado, com o proximo simbolo livre
+     * @param employee employee a ser registado
+     */
+    private void addUser(Employee employee) {
+        employees.add(employee);
+        if (!rebuildingIndexes)
+            users = users.add(employee);
+    }
+
+    /**
+     * Cria e regista um manager ja validado (util para o register e para carregar um snapshot)
+     * @param username nome do manager
+     * @param job cargo manager
+     * @param level nivel do manager
+     */
+    private void addManager(String username, Job job, int level) {
+        addUser(new ManagerClass(revisions, userSymbols.intern(username), username, job, level));
+    }
+
+    /**
+     * Cria e regista um developer ja validado, juntando-o aos developers do seu manager
+     * @param username nome do developer
+     * @param manager manager do developer
+     * @param job cargo developer
+     * @param level nivel do developer
+     */
+    private void addDeveloper(String username, Manager manager, Job job, int level) {
+        Developer developer = new DeveloperClass(revisions, userSymbols.intern(username), username, manager, job, level);
+        addUser(developer);
+        manager.addDeveloper(developer);
+    }
+
+    /**
+     * Cria um projeto In-House ja validado, juntando-o aos indices dos projetos e aos projetos do manager
+     * @param id id do projeto
+     * @param manager manager do projeto
+     * @param keywords keywords do projeto separadas por espacos
+     * @param level nivel do projeto
+     * @return projeto criado
+     */
+    private InHouse addInHouse(String id, Manager manager, String keywords, int level) {
+        InHouse project = new InHouseClass(revisions, projectSymbols.intern(id), id, manager, keywords, internKeywords(keywords), level);
+        projects = projects.add(project);
+        addToKeywordIndex(project);
+
+        inHousesByConfidentiality.set(project.getLevel(), inHousesByConfidentiality.get(project.getLevel()).add(project));
+
+        manager.addManagedProject(project);
+        return project;
+    }
+
+    /**
+     * Cria um projeto Outsourced ja validado, juntando-o aos indices dos projetos e aos projetos do manager
+     * @param id id do projeto
+     * @param manager manager do projeto
+     * @param keywords keywords do projeto separadas por espacos
+     * @param company companhia a qual o projeto pertence
+     */
+    private void addOutsourced(String id, Manager manager, String keywords, String company) {
+        Outsourced project = new OutsourcedClass(projectSymbols.intern(id), id, manager, keywords, internKeywords(keywords), company);
+        projects = projects.add(project);
+
+        for (int keyword : project.getKeywordSymbols())
+            outsourcedByKeyword.set(keyword, outsourcedByKeyword.get(keyword).add(project));
+        manager.addManagedProject(project);
+    }
+
+    /**
+     * Obtem os simbolos das keywords de um projeto, criando as listas da keyword (vazias) para as keywords novas
+     * @param keywords keywords do projeto separadas por espacos
+     * @return array com os simbolos das keywords
+     */
+    private int[] internKeywords(String keywords) {
+        String[] names = keywords.split(" ");
+        int[] symbols = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            symbols[i] = keywordSymbols.intern(names[i]);
+            if (symbols[i] == inHousesByKeyword.size()) {
+                inHousesByKeyword.add(new PersistentSortedSet<>(new InHousesByKeywordComparator()));
+                outsourcedByKeyword.add(new PersistentSortedSet<>(new OutsourcedByKeywordComparator()));
+            }
+        }
+        return symbols;
+    }
+
+    /**
+     * Adiciona conjuntos vazios, ordenados por id, na List inHousesByConfidentiality (util para o comando confidentiality)
      */
     @Override
     public void inHousesByConfidentialityInit() {
         for (int i = 0; i < 6; i++) {
-            inHousesByConfidentiality.add(i, new LinkedList<>());
+            inHousesByConfidentiality.add(i, new PersistentSortedSet<>(new ConfidentialityComparator()));
+        }
+    }
+
+    /**
+     * Atualiza os pares de employees com projetos em comum quando um membro entra na equipa de um projeto
+     * (o manager do projeto so conta quando o seu username precede o do novo membro, tal como em getCommonProjectsNum)
+     * @param inHouse projeto ao qual o membro vai ser adicionado
+     * @param member membro a ser adicionado
+     */
+    private void addCommonProject(InHouse inHouse, Employee member) {
+        if (rebuildingIndexes)
+            return;
+        Iterator<Employee> it = inHouse.listTeam();
+        while (it.hasNext())
+            addCommonProject(it.next(), member);
+        Manager manager = inHouse.getManager();
+        if (manager.getUsername().compareTo(member.getUsername()) < 0)
+            addCommonProject(manager, member);
+    }
+
+    /**
+     * Incrementa o numero de projetos em comum de um par de employees
+     * @param e1 employee do par
+     * @param e2 outro employee do par
+     */
+    private void addCommonProject(Employee e1, Employee e2) {
+        Employee first = e1;
+        Employee second = e2;
+        if (first.getUsername().compareTo(second.getUsername()) > 0) {
+            first = e2;
+            second = e1;
+        }
+
+        long key = CommonProjectsTask.pairKey(first, second);
+        EmployeePair pair = pairsBySymbols.get(key);
+        if (pair == null) {
+            pair = new EmployeePairClass(first, second);
+            pairsBySymbols.put(key, pair);
+        } else if (changedPairs == null) {
+            commonProjects = commonProjects.remove(pair);
         }
+        pair.addCommonProject();
+        if (changedPairs != null)
+            changedPairs.add(pair);
+        else
+            commonProjects = commonProjects.add(pair);
+    }
+
+    /**
+     * Retira um employee da ordenacao dos workaholics (antes de alterar os seus updates, projetos ou ultima data)
+     * @param employee employee a ser retirado
+     */
+    private void removeWorkaholic(Employee employee) {
+        if (!rebuildingIndexes && employee.getUpdates() > 0)
+            workaholics = workaholics.remove(employee);
+    }
+
+    /**
+     * Repoe um employee na ordenacao dos workaholics (depois de alterar os seus updates, projetos ou ultima data)
+     * @param employee employee a ser reposto
+     */
+    private void addWorkaholic(Employee employee) {
+        if (!rebuildingIndexes && employee.getUpdates() > 0)
+            workaholics = workaholics.add(employee);
+    }
+
+    /**
+     * Retira um projeto In-House das listas das suas keywords (antes de alterar as suas revisoes)
+     * @param inHouse projeto a ser retirado
+     */
+    private void removeFromKeywordIndex(InHouse inHouse) {
+        if (rebuildingIndexes)
+            return;
+        for (int keyword : inHouse.getKeywordSymbols())
+            inHousesByKeyword.set(keyword, inHousesByKeyword.get(keyword).remove(inHouse));
+    }
+
+    /**
+     * Repoe um projeto In-House nas listas das suas keywords (depois de alterar as suas revisoes)
+     * @param inHouse projeto a ser reposto
+     */
+    private void addToKeywordIndex(InHouse inHouse) {
+        if (rebuildingIndexes)
+            return;
+        for (int keyword : inHouse.getKeywordSymbols())
+            inHousesByKeyword.set(keyword, inHousesByKeyword.get(keyword).add(inHouse));
     }
 
     /**
@@ -226,25 +914,36 @@ public class ControlSystemClass implements ControlSystem {
      */
     @Override
     public int addRevision(String username, String id, String artefactName, LocalDate date, String comment) throws UserDoesNotExistException, ProjectDoesNotExistException, ArtefactDoesNotExistException, MemberNotInTeamException, EmployeeDoesNotExistException {
-        if (!hasUser(username))
+        int employeeSymbol = userSymbols.lookup(username);
+        if (employeeSymbol == SymbolTable.NO_SYMBOL)
             throw new UserDoesNotExistException(username);
         if (isOutsourced(id))
             throw new ProjectDoesNotExistException(id);
 
         InHouse inHouse = getInHouse(id);
 
-        if (!inHouse.hasArtefact(artefactName))
-            throw new ArtefactDoesNotExistException(artefactName);
-        else if (!inHouse.hasEmployee(username))
-            throw new MemberNotInTeamException(username, id);
-
-        Artefact artefact = inHouse.getArtefact(artefactName);
-        Revision revision = new RevisionClass(artefact.getRevisionNum(), username, date, comment, artefact.getName(), id);
-        Employee employee = getEmployee(username);
-        artefact.addRevision(revision);
-        employee.addRevision(revision);
-        inHouse.addRevision(revision);
-        return artefact.getRevisionNum() - 1;
+        sharedWriteLock.lock();
+        try {
+            int artefactSymbol = artefactSymbols.lookup(artefactName);
+
+            if (!inHouse.hasArtefact(artefactSymbol))
+                throw new ArtefactDoesNotExistException(artefactName);
+            else if (!inHouse.hasEmployee(employeeSymbol))
+                throw new MemberNotInTeamException(username, id);
+
+            Artefact artefact = inHouse.getArtefact(artefactSymbol);
+            int revision = revisions.addRevision(artefact.getRevisionNum(), employeeSymbol, (int) date.toEpochDay(), comment, artefactSymbol, inHouse.getSymbol());
+            Employee employee = employees.get(employeeSymbol);
+            removeFromKeywordIndex(inHouse);
+            inHouse.addArtefactRevision(artefact, revision);
+            addToKeywordIndex(inHouse);
+            removeWorkaholic(employee);
+            employee.addRevision(revision);
+            addWorkaholic(employee);
+            return artefact.getRevisionNum() - 1;
+        } finally {
+            sharedWriteLock.unlock();
+        }
     }
 
     /**
@@ -256,7 +955,7 @@ public class ControlSystemClass implements ControlSystem {
     public Iterator<Employee> listUsers() throws EmptyUsersException {
         if (users.isEmpty())
             throw new EmptyUsersException();
-        return users.values().iterator();
+        return users.iterator();
     }
 
     /**
@@ -268,7 +967,7 @@ public class ControlSystemClass implements ControlSystem {
     public Iterator<Project> listProjects() throws EmptyProjectsException {
         if (projects.isEmpty())
             throw new EmptyProjectsException();
-        return projects.values().iterator();
+        return projects.iterator();
     }
 
     /**
@@ -279,9 +978,10 @@ public class ControlSystemClass implements ControlSystem {
      */
     @Override
     public Employee getEmployee(String username) throws EmployeeDoesNotExistException {
-        if (!users.containsKey(username))
+        int symbol = userSymbols.lookup(username);
+        if (symbol == SymbolTable.NO_SYMBOL)
             throw new EmployeeDoesNotExistException(username);
-        return users.get(username);
+        return employees.get(symbol);
     }
 
     /**
@@ -292,9 +992,9 @@ public class ControlSystemClass implements ControlSystem {
      */
     @Override
     public Manager getManager(String username) throws ManagerDoesNotExistException {
-        if (!users.containsKey(username) || (users.containsKey(username) && !(users.get(username) instanceof Manager)))
+        if (!hasManager(username))
             throw new ManagerDoesNotExistException(username);
-        return (Manager) users.get(username);
+        return (Manager) employees.get(userSymbols.lookup(username));
     }
 
     /**
@@ -334,9 +1034,10 @@ public class ControlSystemClass implements ControlSystem {
      */
     @Override
     public Project getProject(String id) throws ProjectDoesNotExistException {
-        if (!projects.containsKey(id))
+        int symbol = projectSymbols.lookup(id);
+        if (symbol == SymbolTable.NO_SYMBOL)
             throw new ProjectDoesNotExistException(id);
-        return projects.get(id);
+        return projects.get(symbol);
     }
 
     /**
@@ -349,7 +1050,7 @@ public class ControlSystemClass implements ControlSystem {
     public InHouse getInHouse(String id) throws ProjectDoesNotExistException {
         if (!hasInHouse(id))
             throw new ProjectDoesNotExistException(id);
-        return (InHouse) projects.get(id);
+        return (InHouse) projects.get(projectSymbols.lookup(id));
     }
 
     /**
@@ -363,7 +1064,7 @@ public class ControlSystemClass implements ControlSystem {
     public InHouse getProjectInfo(String id) throws ProjectDoesNotExistException, OutsourcedProjectException {
         if (isOutsourced(id))
             throw new OutsourcedProjectException(id);
-        return (InHouse) projects.get(id);
+        return (InHouse) projects.get(projectSymbols.lookup(id));
     }
 
     /**
@@ -373,7 +1074,7 @@ public class ControlSystemClass implements ControlSystem {
      */
     @Override
     public boolean hasUser(String username) {
-        return users.containsKey(username);
+        return userSymbols.lookup(username) != SymbolTable.NO_SYMBOL;
     }
 
     /**
@@ -383,7 +1084,8 @@ public class ControlSystemClass implements ControlSystem {
      */
     @Override
     public boolean hasManager(String username) {
-        return users.containsKey(username) && users.get(username) instanceof Manager;
+        int symbol = userSymbols.lookup(username);
+        return symbol != SymbolTable.NO_SYMBOL && employees.get(symbol) instanceof Manager;
     }
 
     /**
@@ -393,7 +1095,7 @@ public class ControlSystemClass implements ControlSystem {
      */
     @Override
     public boolean hasProject(String id) {
-        return projects.containsKey(id);
+        return projectSymbols.lookup(id) != SymbolTable.NO_SYMBOL;
     }
 
     /**
@@ -403,7 +1105,8 @@ public class ControlSystemClass implements ControlSystem {
      */
     @Override
     public boolean hasInHouse(String id) {
-        return projects.containsKey(id) && projects.get(id) instanceof InHouse;
+        int symbol = projectSymbols.lookup(id);
+        return symbol != SymbolTable.NO_SYMBOL && projects.get(symbol) instanceof InHouse;
     }
 
     /**
@@ -414,9 +1117,7 @@ public class ControlSystemClass implements ControlSystem {
      */
     @Override
     public boolean isOutsourced(String id) throws ProjectDoesNotExistException {
-        if (!projects.containsKey(id))
-            throw new ProjectDoesNotExistException(id);
-        return projects.get(id) instanceof Outsourced;
+        return getProject(id) instanceof Outsourced;
     }
 
     /**
@@ -425,11 +1126,7 @@ public class ControlSystemClass implements ControlSystem {
      */
     @Override
     public boolean noUserMadeAnUpdate() {
-        for (Employee employee : users.values()) {
-            if (employee.getUpdates() > 0)
-                return false;
-        }
-        return true;
+        return workaholics.isEmpty();
     }
 
     /**
@@ -438,18 +1135,7 @@ public class ControlSystemClass implements ControlSystem {
      */
     @Override
     public boolean hasCommonProjects() {
-
-        List<Employee> employees = new LinkedList<>(users.values());
-
-        for (int i = 0; i < employees.size(); i++) {
-            Employee current = employees.get(i);
-            for (int j = i + 1; j < employees.size(); j++) {
-                int currentNum = current.getCommonProjectsNum(employees.get(j));
-                if (currentNum > 0)
-                    return true;
-            }
-        }
-        return false;
+        return !commonProjects.isEmpty();
     }
 
     /**
@@ -461,9 +1147,7 @@ public class ControlSystemClass implements ControlSystem {
      */
     @Override
     public Iterator<Employee> listTeamInProject(String id) throws ProjectDoesNotExistException, OutsourcedProjectException {
-        if (isOutsourced(id))
-            throw new OutsourcedProjectException(id);
-        return ((InHouse) projects.get(id)).listTeam();
+        return getProjectInfo(id).listTeam();
     }
 
     /**
@@ -475,9 +1159,7 @@ public class ControlSystemClass implements ControlSystem {
      */
     @Override
     public Iterator<Artefact> listArtefactsInProject(String id) throws ProjectDoesNotExistException, OutsourcedProjectException {
-        if (isOutsourced(id))
-            throw new OutsourcedProjectException(id);
-        return ((InHouse) projects.get(id)).listArtefacts();
+        return getProjectInfo(id).listArtefacts();
     }
 
     /**
@@ -490,6 +1172,19 @@ public class ControlSystemClass implements ControlSystem {
         return artefact.listRevisions();
     }
 
+    /**
+     * Lista as revisoes de um artefacto com numeros num dado intervalo
+     * @param artefact artefacto
+     * @param from numero da primeira revisao do intervalo
+     * @param to numero da ultima revisao do intervalo
+     * @return iterador com as revisoes do artefacto no dado intervalo, da mais recente para a mais antiga
+     * @throws RevisionDoesNotExistException
+     */
+    @Override
+    public Iterator<Revision> listRevisions(Artefact artefact, int from, int to) throws RevisionDoesNotExistException {
+        return artefact.listRevisions(from, to);
+    }
+
     /**
      * Lista os developers que estao associados a um manager
      * @param username nome do manager
@@ -500,14 +1195,7 @@ public class ControlSystemClass implements ControlSystem {
     public Iterator<Developer> listManagedDevelopers(String username) throws ManagerDoesNotExistException {
         if (!hasManager(username))
             throw new ManagerDoesNotExistException(username);
-        Manager m = getManager(username);
-        List<Developer> developers = new LinkedList<>();
-        for (Map.Entry<String, Employee> e : users.entrySet()) {
-            if (e.getValue() instanceof Developer && m.hasDeveloper(e.getKey())) {
-                developers.add((Developer) e.getValue());
-            }
-        }
-        return developers.iterator();
+        return getManager(username).listDevelopers();
     }
 
     /**
@@ -518,14 +1206,10 @@ public class ControlSystemClass implements ControlSystem {
      */
     @Override
     public Iterator<InHouse> listInHousesByKeyword(String keyword) throws NoProjectsWithKeywordException {
-        List<InHouse> inHousesList = new LinkedList<>();
-        if (!inHousesByKeyword.containsKey(keyword) && !outsourcedByKeyword.containsKey(keyword))
+        int symbol = keywordSymbols.lookup(keyword);
+        if (symbol == SymbolTable.NO_SYMBOL)
             throw new NoProjectsWithKeywordException(keyword);
-        if (!inHousesByKeyword.containsKey(keyword))
-            return inHousesList.iterator();
-        inHousesList = inHousesByKeyword.get(keyword);
-        inHousesList.sort(new InHousesByKeywordComparator());
-        return inHousesList.iterator();
+        return new KeywordIterator<>(inHousesByKeyword.get(symbol).iterator(), symbol);
     }
 
     /**
@@ -536,14 +1220,10 @@ public class ControlSystemClass implements ControlSystem {
      */
     @Override
     public Iterator<Outsourced> listOutsourcedByKeyword(String keyword) throws NoProjectsWithKeywordException {
-        List<Outsourced> outsourcedList = new LinkedList<>();
-        if (!inHousesByKeyword.containsKey(keyword) && !outsourcedByKeyword.containsKey(keyword))
+        int symbol = keywordSymbols.lookup(keyword);
+        if (symbol == SymbolTable.NO_SYMBOL)
             throw new NoProjectsWithKeywordException(keyword);
-        if (!outsourcedByKeyword.containsKey(keyword))
-            return outsourcedList.iterator();
-        outsourcedList = outsourcedByKeyword.get(keyword);
-        outsourcedList.sort(new OutsourcedByKeywordComparator());
-        return outsourcedList.iterator();
+        return new KeywordIterator<>(outsourcedByKeyword.get(symbol).iterator(), symbol);
     }
 
     /**
@@ -555,21 +1235,29 @@ public class ControlSystemClass implements ControlSystem {
      */
     @Override
     public Iterator<InHouse> listByConfidentiality(int lower, int upper) throws NoProjectsWithinLevelsException {
+        if (getNumInHousesByConfidentiality(lower, upper) == 0)
+            throw new NoProjectsWithinLevelsException(lower, upper);
 
-        boolean containsInHouse = false;
-
-        List<InHouse> inHouses = new LinkedList<>();
+        List<Iterator<InHouse>> levels = new ArrayList<>(upper - lower + 1);
         for (int i = lower; i <= upper; i++) {
-            if (!inHousesByConfidentiality.get(i).isEmpty()) {
-                containsInHouse = true;
-                inHouses.addAll(inHousesByConfidentiality.get(i));
-            }
+            if (!inHousesByConfidentiality.get(i).isEmpty())
+                levels.add(inHousesByConfidentiality.get(i).iterator());
         }
-        if (!containsInHouse)
-            throw new NoProjectsWithinLevelsException(lower, upper);
+        return new ConfidentialityIterator(levels);
+    }
 
-        inHouses.sort(new ConfidentialityComparator());
-        return inHouses.iterator();
+    /**
+     * Obtem o numero de projetos In-House num dado intervalo de niveis de confidencialidade
+     * @param lower limite inferior de confidencialidade
+     * @param upper limite superior de confidencialidade
+     * @return numero de projetos In-House no dado intervalo de niveis de confidencialidade
+     */
+    @Override
+    public int getNumInHousesByConfidentiality(int lower, int upper) {
+        int sum = 0;
+        for (int i = lower; i <= upper; i++)
+            sum += inHousesByConfidentiality.get(i).size();
+        return sum;
     }
 
     /**
@@ -582,19 +1270,10 @@ public class ControlSystemClass implements ControlSystem {
         if (users.isEmpty() || noUserMadeAnUpdate())
             throw new NoWorkaholicsException();
 
-        List<Employee> employees = new LinkedList<>();
         List<Employee> employeesSorted = new LinkedList<>();
-
-        for (Employee employee : users.values()) {
-            if (employee.getUpdates() > 0) {
-                employees.add(employee);
-            }
-        }
-
-        employees.sort(new EmployeeComparator());
-
-        for (int i = 0; i < 3 && i < employees.size(); i++) {
-            employeesSorted.add(i, employees.get(i));
+        Iterator<Employee> it = workaholics.iterator();
+        for (int i = 0; i < WORKAHOLICS_NUM && it.hasNext(); i++) {
+            employeesSorted.add(it.next());
         }
         return employeesSorted.iterator();
     }
@@ -609,35 +1288,11 @@ public class ControlSystemClass implements ControlSystem {
         if (projects.isEmpty() || !hasCommonProjects())
             throw new NoCommonProjectsException();
 
-        int record = 0;
-        Employee first = null;
-        Employee second = null;
-
-        List<Employee> employees = new LinkedList<>(users.values());
-        for (int i = 0; i < employees.size(); i++) {
-            Employee current = employees.get(i);
-            for (int j = i + 1; j < employees.size(); j++) {
-                Employee employeeToCompare = employees.get(j);
-                int currentNum = current.getCommonProjectsNum(employeeToCompare);
-                if (currentNum > record) {
-                    record = currentNum;
-                    first = current;
-                    second = employeeToCompare;
-                }
-                else if (currentNum == record && record != 0) {
-                    if (current.getUsername().compareTo(first.getUsername()) < 0)
-                        first = current;
-                    else if (current.getUsername().compareTo(first.getUsername()) == 0) {
-                        if (employeeToCompare.getUsername().compareTo(second.getUsername()) < 0)
-                            second = employeeToCompare;
-                    }
-                }
-            }
-        }
+        EmployeePair pair = commonProjects.first();
 
         List<Employee> employeesToReturn = new LinkedList<>();
-        employeesToReturn.add(first);
-        employeesToReturn.add(second);
+        employeesToReturn.add(pair.getFirst());
+        employeesToReturn.add(pair.getSecond());
         return employeesToReturn.iterator();
     }
 }
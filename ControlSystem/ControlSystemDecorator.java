@@ -0,0 +1,527 @@
+package ControlSystem;
+
+import Exceptions.*;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+
+public abstract class ControlSystemDecorator implements ControlSystem {
+
+    // sistema decorado, para onde sao reencaminhados todos os metodos que a subclasse nao altera
+    protected final ControlSystem delegate;
+
+    /**
+     * Construtor da class ControlSystemDecorator
+     * @param delegate sistema a ser decorado
+     */
+    public ControlSystemDecorator(ControlSystem delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Regista um manager no sistema
+     * @param username nome do manager a ser registado
+     * @param job cargo manager
+     * @param level nivel do manager
+     * @throws UnknownJobPositionException
+     * @throws UserAlreadyExistsException
+     */
+    @Override
+    public void register(String username, Job job, int level) throws UnknownJobPositionException, UserAlreadyExistsException {
+        delegate.register(username, job, level);
+    }
+
+    /**
+     * Regista um developer no sistema
+     * @param username nome do developer a ser registado
+     * @param manager nome do manager do developer
+     * @param job cargo developer
+     * @param level nivel do developer
+     * @throws UnknownJobPositionException
+     * @throws UserAlreadyExistsException
+     * @throws ManagerDoesNotExistException
+     */
+    @Override
+    public void register(String username, String manager, Job job, int level) throws UnknownJobPositionException, UserAlreadyExistsException, ManagerDoesNotExistException {
+        delegate.register(username, manager, job, level);
+    }
+
+    /**
+     * Cria um novo projeto In-House
+     * @param id nome do projeto a ser criado
+     * @param managerName nome do manager do projeto
+     * @param keywords descricao do projeto
+     * @param level nivel do projeto
+     * @throws UnknownProjectTypeException
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectAlreadyExistsException
+     */
+    @Override
+    public void createProject(String id, String managerName, String keywords, int level) throws ManagerDoesNotExistException, ProjectAlreadyExistsException, UnderClearanceLevelException {
+        delegate.createProject(id, managerName, keywords, level);
+    }
+
+    /**
+     * Cria um novo projeto Outsourced
+     * @param id nome do projeto a ser criado
+     * @param managerName nome do manager do projeto
+     * @param keywords descricao do projeto
+     * @param company companhia a qual o projeto pertence
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectAlreadyExistsException
+     */
+    @Override
+    public void createProject(String id, String managerName, String keywords, String company) throws ManagerDoesNotExistException, ProjectAlreadyExistsException {
+        delegate.createProject(id, managerName, keywords, company);
+    }
+
+    /**
+     * Adiciona um membro a um projeto
+     * @param managerName nome do manager do projeto
+     * @param id id do projeto
+     * @param member nome do membro a ser adicionado
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws ProjectNotManagedByUserException
+     * @throws MemberAlreadyInTeamException
+     * @throws EmployeeDoesNotExistException
+     * @throws InsufficientClearanceLevelException
+     */
+    @Override
+    public void addEmployeeToProject(String managerName, String id, String member) throws ManagerDoesNotExistException, ProjectDoesNotExistException, ProjectNotManagedByUserException, MemberAlreadyInTeamException, EmployeeDoesNotExistException, InsufficientClearanceLevelException {
+        delegate.addEmployeeToProject(managerName, id, member);
+    }
+
+    /**
+     * Adiciona um artefacto a um projeto
+     * @param artefact artefacto a ser adicionado
+     * @param id id do projeto
+     * @param date data da criacao do artefacto
+     * @throws UserDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws MemberNotInTeamException
+     * @throws ArtefactAlreadyInProjectException
+     * @throws ArtefactHasHigherLevelException
+     * @throws EmployeeDoesNotExistException
+     */
+    @Override
+    public void addArtefactToProject(Artefact artefact, String id, LocalDate date) throws UserDoesNotExistException, ProjectDoesNotExistException, MemberNotInTeamException, ArtefactAlreadyInProjectException, ArtefactHasHigherLevelException, EmployeeDoesNotExistException {
+        delegate.addArtefactToProject(artefact, id, date);
+    }
+
+    /**
+     * Adiciona varios membros a um projeto, validando o manager e o projeto uma unica vez
+     * @param managerName nome do manager do projeto
+     * @param id id do projeto
+     * @param members nomes dos membros a serem adicionados, pela ordem em que sao adicionados
+     * @return resultado de cada membro, pela mesma ordem (ADDED_TO_TEAM, ALREADY_MEMBER, EMPLOYEE_DOES_NOT_EXIST ou
+     * INSUFFICIENT_CLEARANCE_LEVEL)
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws ProjectNotManagedByUserException
+     */
+    @Override
+    public AddResult[] addTeamToProject(String managerName, String id, List<String> members) throws ManagerDoesNotExistException, ProjectDoesNotExistException, ProjectNotManagedByUserException {
+        return delegate.addTeamToProject(managerName, id, members);
+    }
+
+    /**
+     * Adiciona varios artefactos de um employee a um projeto, validando o employee e o projeto uma unica vez
+     * @param username nome do employee dono dos artefactos
+     * @param id id do projeto
+     * @param date data da criacao dos artefactos
+     * @param artefacts artefactos criados com createArtefact para o employee, pela ordem em que sao adicionados
+     * @return resultado de cada artefacto, pela mesma ordem (ADDED_TO_PROJECT, ARTEFACT_ALREADY_IN_PROJECT ou
+     * ARTEFACT_HAS_HIGHER_LEVEL)
+     * @throws UserDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws MemberNotInTeamException
+     */
+    @Override
+    public AddResult[] addArtefactsToProject(String username, String id, LocalDate date, List<Artefact> artefacts) throws UserDoesNotExistException, ProjectDoesNotExistException, MemberNotInTeamException {
+        return delegate.addArtefactsToProject(username, id, date, artefacts);
+    }
+
+    /**
+     * Cria um artefacto que guarda as suas revisoes no arquivo do sistema (so entra num projeto com addArtefactToProject)
+     * @param owner nome do dono do artefacto
+     * @param name nome do artefacto
+     * @param level nivel de acesso do artefacto
+     * @param description descricao do artefacto
+     * @param date data em que o artefacto foi criado
+     * @return artefacto criado
+     */
+    @Override
+    public Artefact createArtefact(String owner, String name, int level, String description, LocalDate date) {
+        return delegate.createArtefact(owner, name, level, description, date);
+    }
+
+    /**
+     * Guarda o estado do sistema num snapshot binario (employees, projetos, equipas, artefactos e revisoes)
+     * @param fileName nome do ficheiro do snapshot
+     * @throws IOException
+     */
+    @Override
+    public void saveSnapshot(String fileName) throws IOException {
+        delegate.saveSnapshot(fileName);
+    }
+
+    /**
+     * Carrega num sistema vazio o estado guardado num snapshot, reconstruindo os indices derivados
+     * @param fileName nome do ficheiro do snapshot
+     * @throws IOException
+     * @throws InvalidSnapshotException
+     */
+    @Override
+    public void loadSnapshot(String fileName) throws IOException, InvalidSnapshotException {
+        delegate.loadSnapshot(fileName);
+    }
+
+    /**
+     * Obtem a geracao do journal cujos registos ja estao no estado do sistema (guardada nos snapshots)
+     * @return geracao do journal ja contida no sistema, ou 0 se o sistema nao contiver nenhum journal
+     */
+    @Override
+    public int getJournalGeneration() {
+        return delegate.getJournalGeneration();
+    }
+
+    /**
+     * Atribui a geracao do journal cujos registos ja estao no estado do sistema (antes de guardar um snapshot)
+     * @param generation geracao do journal ja contida no sistema
+     */
+    @Override
+    public void setJournalGeneration(int generation) {
+        delegate.setJournalGeneration(generation);
+    }
+
+    /**
+     * Obtem o lock do estado partilhado entre projetos: as alteracoes a projetos In-House aplicam-se com o seu lock de
+     * escrita, depois de validadas; quem usa o sistema em varias threads bloqueia o lock de leitura nas consultas e o de
+     * escrita nas restantes alteracoes, e nunca altera o mesmo projeto em duas threads ao mesmo tempo
+     * @return lock de leitura e escrita do estado partilhado entre projetos
+     */
+    @Override
+    public ReadWriteLock getSharedLock() {
+        return delegate.getSharedLock();
+    }
+
+    /**
+     * Adiciona conjuntos vazios, ordenados por id, na List inHousesByConfidentiality (util para o comando confidentiality)
+     */
+    @Override
+    public void inHousesByConfidentialityInit() {
+        delegate.inHousesByConfidentialityInit();
+    }
+
+    /**
+     * Adiciona uma revisao a um dado artefacto num projeto
+     * @param username nome do employee que fez a revisao
+     * @param id id do projeto
+     * @param artefactName nome do artefacto
+     * @param date data da revisao
+     * @param comment comentario da revisao
+     * @return numero da revisao que acabou de ser criada
+     * @throws UserDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws ArtefactDoesNotExistException
+     * @throws MemberNotInTeamException
+     * @throws EmployeeDoesNotExistException
+     */
+    @Override
+    public int addRevision(String username, String id, String artefactName, LocalDate date, String comment) throws UserDoesNotExistException, ProjectDoesNotExistException, ArtefactDoesNotExistException, MemberNotInTeamException, EmployeeDoesNotExistException {
+        return delegate.addRevision(username, id, artefactName, date, comment);
+    }
+
+    /**
+     * Lista os employees do sistema
+     * @return iterador com todos os employees do sistema
+     * @throws EmptyUsersException
+     */
+    @Override
+    public Iterator<Employee> listUsers() throws EmptyUsersException {
+        return delegate.listUsers();
+    }
+
+    /**
+     * Lista os projetos do sistema
+     * @return iterador com todos os projetos do sistema
+     * @throws EmptyProjectsException
+     */
+    @Override
+    public Iterator<Project> listProjects() throws EmptyProjectsException {
+        return delegate.listProjects();
+    }
+
+    /**
+     * Obtem o employee com um dado nome
+     * @param username nome do employee a ser pesquisado
+     * @return employee com o dado nome
+     * @throws EmployeeDoesNotExistException
+     */
+    @Override
+    public Employee getEmployee(String username) throws EmployeeDoesNotExistException {
+        return delegate.getEmployee(username);
+    }
+
+    /**
+     * Obtem o manager com um dado nome
+     * @param username nome do manager a ser pesquisado
+     * @return manager com o dado nome
+     * @throws ManagerDoesNotExistException
+     */
+    @Override
+    public Manager getManager(String username) throws ManagerDoesNotExistException {
+        return delegate.getManager(username);
+    }
+
+    /**
+     * Obtem o enum Job a partir de uma string
+     * @param job nome do job
+     * @return enum Job
+     * @throws UnknownJobPositionException
+     */
+    @Override
+    public Job getJob(String job) throws UnknownJobPositionException {
+        return delegate.getJob(job);
+    }
+
+    /**
+     * Obtem o enum ProjectType a partir de uma string
+     * @param projectTypeName nome do projectType
+     * @return enum ProjectType
+     */
+    @Override
+    public ProjectType getProjectType(String projectTypeName) throws UnknownProjectTypeException {
+        return delegate.getProjectType(projectTypeName);
+    }
+
+    /**
+     * Obtem o projeto com um dado id
+     * @param id id do projeto a ser pesquisado
+     * @return projeto com o dado id
+     * @throws ProjectDoesNotExistException
+     */
+    @Override
+    public Project getProject(String id) throws ProjectDoesNotExistException {
+        return delegate.getProject(id);
+    }
+
+    /**
+     * Obtem o projeto In-House com um dado id
+     * @param id id do projeto In-House a ser pesquisado
+     * @return projeto In-House com o dado id
+     * @throws ProjectDoesNotExistException
+     */
+    @Override
+    public InHouse getInHouse(String id) throws ProjectDoesNotExistException {
+        return delegate.getInHouse(id);
+    }
+
+    /**
+     * Obtem o projeto In-House com um dado id (usado no comando projects, pois lanca mais uma excecao)
+     * @param id id do projeto In-House a ser pesquisado
+     * @return projeto In-House com o dado id
+     * @throws ProjectDoesNotExistException
+     * @throws OutsourcedProjectException
+     */
+    @Override
+    public InHouse getProjectInfo(String id) throws ProjectDoesNotExistException, OutsourcedProjectException {
+        return delegate.getProjectInfo(id);
+    }
+
+    /**
+     * Verifica se um dado employee existe no sistema
+     * @param username nome do employee a ser pesquisado
+     * @return true se o employee existir no sistema / false caso contrario
+     */
+    @Override
+    public boolean hasUser(String username) {
+        return delegate.hasUser(username);
+    }
+
+    /**
+     * Verifica se um dado manager existe no sistema
+     * @param username nome do manager a ser pesquisado
+     * @return true se o manager existir no sistema / false caso contrario
+     */
+    @Override
+    public boolean hasManager(String username) {
+        return delegate.hasManager(username);
+    }
+
+    /**
+     * Verifica se um dado projeto existe no sistema
+     * @param id id do projeto a ser pesquisado
+     * @return true se o projeto existir no sistema / false caso contrario
+     */
+    @Override
+    public boolean hasProject(String id) {
+        return delegate.hasProject(id);
+    }
+
+    /**
+     * Verifica se um projeto In-House existe no sistema
+     * @param id id do projeto In-House a ser pesquisado
+     * @return true se o projeto In-House existir no sistema / false caso contrario
+     */
+    @Override
+    public boolean hasInHouse(String id) {
+        return delegate.hasInHouse(id);
+    }
+
+    /**
+     * Verifica se um dado projeto é Outsourced.
+     * @param id id do projeto Outsourced a ser pesquisado
+     * @return true se o projeto for Outsourced / false caso contrario
+     * @throws ProjectDoesNotExistException
+     */
+    @Override
+    public boolean isOutsourced(String id) throws ProjectDoesNotExistException {
+        return delegate.isOutsourced(id);
+    }
+
+    /**
+     * Verifica se nenhum employee realizou pelo menos um update num artefacto
+     * @return true se nenhum employee realizou um update / false caso contrario
+     */
+    @Override
+    public boolean noUserMadeAnUpdate() {
+        return delegate.noUserMadeAnUpdate();
+    }
+
+    /**
+     * Verifica se os employees tem um ou mais projetos em comum
+     * @return true se os employees tiverem um ou mais projetos em comum / false caso contrario
+     */
+    @Override
+    public boolean hasCommonProjects() {
+        return delegate.hasCommonProjects();
+    }
+
+    /**
+     * Lista a equipa de um projeto
+     * @param id id do projeto
+     * @return iterador com todos os membros da equipa do projeto
+     * @throws ProjectDoesNotExistException
+     * @throws OutsourcedProjectException
+     */
+    @Override
+    public Iterator<Employee> listTeamInProject(String id) throws ProjectDoesNotExistException, OutsourcedProjectException {
+        return delegate.listTeamInProject(id);
+    }
+
+    /**
+     * Lista os artefactos de um projeto
+     * @param id id do projeto
+     * @return iterador com todos os artefactos do projeto
+     * @throws ProjectDoesNotExistException
+     * @throws OutsourcedProjectException
+     */
+    @Override
+    public Iterator<Artefact> listArtefactsInProject(String id) throws ProjectDoesNotExistException, OutsourcedProjectException {
+        return delegate.listArtefactsInProject(id);
+    }
+
+    /**
+     * Lista as revisoes de um artefacto
+     * @param artefact artefacto
+     * @return iterador com todas as revisoes do artefacto
+     */
+    @Override
+    public Iterator<Revision> listRevisions(Artefact artefact) {
+        return delegate.listRevisions(artefact);
+    }
+
+    /**
+     * Lista as revisoes de um artefacto com numeros num dado intervalo
+     * @param artefact artefacto
+     * @param from numero da primeira revisao do intervalo
+     * @param to numero da ultima revisao do intervalo
+     * @return iterador com as revisoes do artefacto no dado intervalo, da mais recente para a mais antiga
+     * @throws RevisionDoesNotExistException
+     */
+    @Override
+    public Iterator<Revision> listRevisions(Artefact artefact, int from, int to) throws RevisionDoesNotExistException {
+        return delegate.listRevisions(artefact, from, to);
+    }
+
+    /**
+     * Lista os developers que estao associados a um manager
+     * @param username nome do manager
+     * @return iterador com todos os developers associados ao manager
+     * @throws ManagerDoesNotExistException
+     */
+    @Override
+    public Iterator<Developer> listManagedDevelopers(String username) throws ManagerDoesNotExistException {
+        return delegate.listManagedDevelopers(username);
+    }
+
+    /**
+     * Lista os projetos In-House que contem uma keyword
+     * @param keyword filtro keyword
+     * @return iterador com todos os projetos In-House que contem a keyword
+     * @throws NoProjectsWithKeywordException
+     */
+    @Override
+    public Iterator<InHouse> listInHousesByKeyword(String keyword) throws NoProjectsWithKeywordException {
+        return delegate.listInHousesByKeyword(keyword);
+    }
+
+    /**
+     * Lista os projetos Outsourced que contem uma keyword
+     * @param keyword filtro keyword
+     * @return iterador com todos os projetos Outsourced que contem a keyword
+     * @throws NoProjectsWithKeywordException
+     */
+    @Override
+    public Iterator<Outsourced> listOutsourcedByKeyword(String keyword) throws NoProjectsWithKeywordException {
+        return delegate.listOutsourcedByKeyword(keyword);
+    }
+
+    /**
+     * Lista os projetos In-House num dado intervalo de niveis de confidencialidade
+     * @param lower limite inferior de confidencialidade
+     * @param upper limite superior de confidencialidade
+     * @return iterador com todos os projetos In-House no dado intervalo de niveis de confidencialidade
+     * @throws NoProjectsWithinLevelsException
+     */
+    @Override
+    public Iterator<InHouse> listByConfidentiality(int lower, int upper) throws NoProjectsWithinLevelsException {
+        return delegate.listByConfidentiality(lower, upper);
+    }
+
+    /**
+     * Obtem o numero de projetos In-House num dado intervalo de niveis de confidencialidade
+     * @param lower limite inferior de confidencialidade
+     * @param upper limite superior de confidencialidade
+     * @return numero de projetos In-House no dado intervalo de niveis de confidencialidade
+     */
+    @Override
+    public int getNumInHousesByConfidentiality(int lower, int upper) {
+        return delegate.getNumInHousesByConfidentiality(lower, upper);
+    }
+
+    /**
+     * Lista os 3 employees mais trabalhadores
+     * @return iterador com os 3 employees mais trabalhadores
+     * @throws NoWorkaholicsException
+     */
+    @Override
+    public Iterator<Employee> listWorkaholics() throws NoWorkaholicsException {
+        return delegate.listWorkaholics();
+    }
+
+    /**
+     * Lista os 2 employees que tem mais projetos em comum
+     * @return iterador com os 2 employees que tem mais projetos em comum
+     * @throws NoCommonProjectsException
+     */
+    @Override
+    public Iterator<Employee> listCommon() throws NoCommonProjectsException {
+        return delegate.listCommon();
+    }
+}
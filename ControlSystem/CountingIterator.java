@@ -0,0 +1,39 @@
+package ControlSystem;
+
+import java.util.Iterator;
+
+public class CountingIterator<E> implements Iterator<E> {
+
+    private Iterator<E> it;
+    private Runnable counter;
+
+    /**
+     * Construtor da class CountingIterator (conta os elementos percorridos de um iterador, sem os copiar)
+     * @param it iterador a ser percorrido
+     * @param counter contador incrementado por cada elemento percorrido
+     */
+    public CountingIterator(Iterator<E> it, Runnable counter) {
+        this.it = it;
+        this.counter = counter;
+    }
+
+    /**
+     * Verifica se ainda existem elementos por percorrer
+     * @return true se existirem elementos por percorrer / false caso contrario
+     */
+    @Override
+    public boolean hasNext() {
+        return it.hasNext();
+    }
+
+    /**
+     * Obtem o proximo elemento, contando-o
+     * @return proximo elemento
+     */
+    @Override
+    public E next() {
+        E next = it.next();
+        counter.run();
+        return next;
+    }
+}
@@ -0,0 +1,195 @@
+package ControlSystem;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+
+public final class Dates {
+
+    // formato das datas lidas e escritas pelo programa
+    public static final String DATE_FORMAT = "dd-MM-yyyy";
+    public static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DATE_FORMAT);
+
+    // valor usado internamente quando ainda nao existe data (menor do que qualquer data real)
+    public static final int NO_DATE = Integer.MIN_VALUE;
+
+    // cache das datas vistas recentemente, indexada pelos ultimos bits do dia
+    private static final int CACHE_SIZE = 512;
+    private static final DateEntry[] CACHE = new DateEntry[CACHE_SIZE];
+
+    private static final int DATE_LENGTH = 10;
+    private static final int[] DAYS_IN_MONTH = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+
+    private Dates() {
+    }
+
+    /**
+     * Converte uma string no formato dd-MM-yyyy numa data
+     * @param date string com a data
+     * @return data correspondente
+     */
+    public static LocalDate parse(String date) {
+        return toLocalDate(parseEpochDay(date));
+    }
+
+    /**
+     * Converte uma string no formato dd-MM-yyyy no numero de dias desde 01-01-1970
+     * @param date string com a data
+     * @return numero de dias desde 01-01-1970
+     */
+    public static int parseEpochDay(String date) {
+        if (date.length() == DATE_LENGTH) {
+            int day = twoDigits(date.charAt(0), date.charAt(1));
+            int month = twoDigits(date.charAt(3), date.charAt(4));
+            int year = twoDigits(date.charAt(6), date.charAt(7)) * 100 + twoDigits(date.charAt(8), date.charAt(9));
+            if (date.charAt(2) == '-' && date.charAt(5) == '-' && isValid(day, month, year))
+                return epochDay(day, month, year);
+        }
+        return (int) LocalDate.parse(date, FORMATTER).toEpochDay();
+    }
+
+    /**
+     * Converte bytes no formato dd-MM-yyyy no numero de dias desde 01-01-1970 (sem criar uma string)
+     * @param bytes array com a data
+     * @param offset posicao do primeiro byte da data
+     * @param length numero de bytes da data
+     * @return numero de dias desde 01-01-1970
+     */
+    public static int parseEpochDay(byte[] bytes, int offset, int length) {
+        if (length == DATE_LENGTH) {
+            int day = twoDigits((char) bytes[offset], (char) bytes[offset + 1]);
+            int month = twoDigits((char) bytes[offset + 3], (char) bytes[offset + 4]);
+            int year = twoDigits((char) bytes[offset + 6], (char) bytes[offset + 7]) * 100 + twoDigits((char) bytes[offset + 8], (char) bytes[offset + 9]);
+            if (bytes[offset + 2] == '-' && bytes[offset + 5] == '-' && isValid(day, month, year))
+                return epochDay(day, month, year);
+        }
+        return parseEpochDay(new String(bytes, offset, length));
+    }
+
+    /**
+     * Converte o numero de dias desde 01-01-1970 numa data
+     * @param epochDay numero de dias desde 01-01-1970
+     * @return data correspondente, ou null se epochDay for NO_DATE
+     */
+    public static LocalDate toLocalDate(int epochDay) {
+        if (epochDay == NO_DATE)
+            return null;
+        return entry(epochDay).date;
+    }
+
+    /**
+     * Formata uma data no formato dd-MM-yyyy
+     * @param date data a ser formatada
+     * @return string com a data formatada
+     */
+    public static String format(LocalDate date) {
+        return format((int) date.toEpochDay());
+    }
+
+    /**
+     * Formata o numero de dias desde 01-01-1970 no formato dd-MM-yyyy
+     * @param epochDay numero de dias desde 01-01-1970
+     * @return string com a data formatada
+     */
+    public static String format(int epochDay) {
+        return entry(epochDay).text;
+    }
+
+    /**
+     * Obtem a entrada da cache de um dia, criando-a se o dia nao tiver sido visto recentemente
+     * @param epochDay numero de dias desde 01-01-1970
+     * @return entrada da cache com a data e o texto do dia
+     */
+    private static DateEntry entry(int epochDay) {
+        int index = epochDay & (CACHE_SIZE - 1);
+        DateEntry entry = CACHE[index];
+        if (entry == null || entry.epochDay != epochDay) {
+            entry = new DateEntry(epochDay);
+            CACHE[index] = entry;
+        }
+        return entry;
+    }
+
+    /**
+     * Converte dois digitos num numero
+     * @param tens digito das dezenas
+     * @param units digito das unidades
+     * @return numero com os dois digitos, ou -1 se algum nao for um digito
+     */
+    private static int twoDigits(char tens, char units) {
+        if (tens < '0' || tens > '9' || units < '0' || units > '9')
+            return -1;
+        return (tens - '0') * 10 + (units - '0');
+    }
+
+    /**
+     * Verifica se os campos de uma data podem ser convertidos diretamente (os restantes casos usam o FORMATTER)
+     * @param day dia do mes
+     * @param month mes
+     * @param year ano
+     * @return true se a data for valida / false caso contrario
+     */
+    private static boolean isValid(int day, int month, int year) {
+        return day >= 1 && day <= 31 && month >= 1 && month <= 12 && year >= 1;
+    }
+
+    /**
+     * Calcula o numero de dias desde 01-01-1970 de uma data, ajustando os dias para alem do fim do mes
+     * ao ultimo dia do mes (tal como o FORMATTER)
+     * @param day dia do mes
+     * @param month mes
+     * @param year ano
+     * @return numero de dias desde 01-01-1970
+     */
+    private static int epochDay(int day, int month, int year) {
+        boolean leap = (year % 4 == 0 && year % 100 != 0) || year % 400 == 0;
+        int monthLength = month == 2 && leap ? 29 : DAYS_IN_MONTH[month - 1];
+        if (day > monthLength)
+            day = monthLength;
+
+        int y = month <= 2 ? year - 1 : year;
+        int era = y / 400;
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146097 + dayOfEra - 719468;
+    }
+
+    /**
+     * Escreve um numero com um dado numero de digitos (com zeros a esquerda)
+     * @param chars array onde escrever
+     * @param offset posicao do primeiro digito
+     * @param value numero a ser escrito
+     * @param digits numero de digitos
+     */
+    private static void writeDigits(char[] chars, int offset, int value, int digits) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+
+    // entrada imutavel da cache: um dia, a sua data e o seu texto formatado
+    private static final class DateEntry {
+
+        private final int epochDay;
+        private final LocalDate date;
+        private final String text;
+
+        private DateEntry(int epochDay) {
+            this.epochDay = epochDay;
+            this.date = LocalDate.ofEpochDay(epochDay);
+            int year = date.getYear();
+            if (year < 0 || year > 9999) {
+                this.text = FORMATTER.format(date);
+            } else {
+                char[] chars = new char[DATE_LENGTH];
+                writeDigits(chars, 0, date.getDayOfMonth(), 2);
+                chars[2] = '-';
+                writeDigits(chars, 3, date.getMonthValue(), 2);
+                chars[5] = '-';
+                writeDigits(chars, 6, year, 4);
+                this.text = new String(chars);
+            }
+        }
+    }
+}
@@ -9,13 +9,15 @@ public class DeveloperClass extends EmployeeClass implements Developer {
 
     /**
      * Construtor da class DeveloperClass
+     * @param store arquivo onde sao guardadas as revisoes
+     * @param symbol simbolo do developer
      * @param username nome do developer
      * @param manager nome do manager
      * @param job cargo developer
      * @param level nivel de acesso do developer
      */
-    public DeveloperClass(String username, Manager manager, Job job, int level) {
-        super(username, job, level);
+    public DeveloperClass(RevisionStore store, int symbol, String username, Manager manager, Job job, int level) {
+        super(store, symbol, username, job, level);
         this.manager = manager;
     }
 
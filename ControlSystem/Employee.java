@@ -15,9 +15,21 @@ public interface Employee {
 
     /**
      * Adiciona uma revisao ao employee
-     * @param revision revisao a ser adicionada
+     * @param revision posicao da revisao no arquivo de revisoes
      */
-    void addRevision(Revision revision);
+    void addRevision(int revision);
+
+    /**
+     * Repoe as revisoes de um employee sem revisoes, ja pela ordem do SortRevisionManages (util para carregar um snapshot)
+     * @param revisions posicoes das revisoes no arquivo de revisoes, pela ordem da linha temporal do employee
+     */
+    void loadRevisions(int[] revisions);
+
+    /**
+     * Obtem as posicoes das revisoes do employee, pela ordem do SortRevisionManages (util para guardar um snapshot)
+     * @return array com as posicoes das revisoes no arquivo de revisoes
+     */
+    int[] getRevisionPositions();
 
     /**
      * Obtem o nome do employee
@@ -25,6 +37,12 @@ public interface Employee {
      */
     String getUsername();
 
+    /**
+     * Obtem o simbolo do employee (identificador inteiro atribuido no registo)
+     * @return simbolo do employee
+     */
+    int getSymbol();
+
     /**
      * Obtem o numero de projetos onde o employee pertence
      * @return numero de projetos onde o employee pertence
@@ -62,6 +80,12 @@ public interface Employee {
      */
     LocalDate getLastDate();
 
+    /**
+     * Obtem a data da ultima revisao efetuada pelo employee como numero de dias desde 01-01-1970
+     * @return numero de dias desde 01-01-1970 da ultima revisao, ou Dates.NO_DATE se o employee nao tiver revisoes
+     */
+    int getLastEpochDay();
+
     /**
      * Obtem a data da ultima revisao efetuada pelo employee formatada
      * @return data da ultima revisao efetuada pelo employee formatada
@@ -3,31 +3,43 @@ package ControlSystem;
 import Exceptions.EmployeeHasNoRevisionsException;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 public abstract class EmployeeClass implements Employee {
 
-    private static final String WRITE_DATE_FORMAT = "dd-MM-yyyy";
-
+    private RevisionStore store;
     private String username;
+    private int symbol;
     private Job job;
     private int level;
-    private Map<String, Project> projects;
-    private List<Revision> revisions;
+    // projetos do employee e os seus simbolos
+    private List<Project> projects;
+    private BitSet projectSymbols;
+    // posicoes no arquivo das revisoes, ordenadas da mais antiga para a mais recente segundo o SortRevisionManages (util para o comando manages)
+    private IntList revisions;
+    // projetos em que o employee e membro da equipa e data da ultima revisao, mantidos a cada alteracao
+    private int numProjects;
+    private int lastDate;
 
     /**
      * Construtor da class EmployeeClass
+     * @param store arquivo onde sao guardadas as revisoes
+     * @param symbol simbolo do employee
      * @param username nome do employee
      * @param job cargo manager / developer
      * @param level nivel de acesso do employee
      */
-    public EmployeeClass(String username, Job job, int level) {
+    public EmployeeClass(RevisionStore store, int symbol, String username, Job job, int level) {
+        this.store = store;
+        this.symbol = symbol;
         this.username = username;
         this.job = job;
         this.level = level;
-        this.projects = new HashMap<>();
-        this.revisions = new LinkedList<>();
+        this.projects = new ArrayList<>();
+        this.projectSymbols = new BitSet();
+        this.revisions = new IntList();
+        this.numProjects = 0;
+        this.lastDate = Dates.NO_DATE;
     }
 
     /**
@@ -36,16 +48,88 @@ public abstract class EmployeeClass implements Employee {
      */
     @Override
     public void addProject(Project project) {
-        projects.put(project.getId(), project);
+        if (projectSymbols.get(project.getSymbol()))
+            return;
+        projects.add(project);
+        projectSymbols.set(project.getSymbol());
+        if (project.getManager().getSymbol() != symbol)
+            numProjects++;
     }
 
     /**
      * Adiciona uma revisao ao employee
-     * @param revision revisao a ser adicionada
+     * @param revision posicao da revisao no arquivo de revisoes
+     */
+    @Override
+    public void addRevision(int revision) {
+        revisions.add(revisionPosition(revision), revision);
+        if (store.getEpochDay(revision) > lastDate)
+            lastDate = store.getEpochDay(revision);
+    }
+
+    /**
+     * Repoe as revisoes de um employee sem revisoes, ja pela ordem do SortRevisionManages (util para carregar um snapshot)
+     * @param revisions posicoes das revisoes no arquivo de revisoes, pela ordem da linha temporal do employee
+     */
+    @Override
+    public void loadRevisions(int[] revisions) {
+        this.revisions = new IntList(revisions);
+        for (int revision : revisions) {
+            if (store.getEpochDay(revision) > lastDate)
+                lastDate = store.getEpochDay(revision);
+        }
+    }
+
+    /**
+     * Obtem as posicoes das revisoes do employee, pela ordem do SortRevisionManages (util para guardar um snapshot)
+     * @return array com as posicoes das revisoes no arquivo de revisoes
      */
     @Override
-    public void addRevision(Revision revision) {
-        revisions.add(revision);
+    public int[] getRevisionPositions() {
+        return revisions.toArray();
+    }
+
+    /**
+     * Obtem a posicao onde inserir uma revisao na linha temporal do employee (depois das revisoes mais antigas
+     * e antes das iguais, para que estas sejam listadas pela ordem em que foram adicionadas)
+     * @param revision posicao da revisao no arquivo de revisoes
+     * @return posicao onde inserir a revisao
+     */
+    private int revisionPosition(int revision) {
+        int high = revisions.size();
+        if (high == 0 || compareRevisions(revision, revisions.get(high - 1)) < 0)
+            return high;
+        int low = 0;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareRevisions(revision, revisions.get(middle)) < 0)
+                low = middle + 1;
+            else
+                high = middle;
+        }
+        return low;
+    }
+
+    /**
+     * Compara duas revisoes do arquivo pela ordem do SortRevisionManages (data, numero e projeto), sem criar objetos
+     * @param r1 posicao da primeira revisao no arquivo
+     * @param r2 posicao da segunda revisao no arquivo
+     * @return -1 se r1 for listada antes de r2 / 1 se r1 for listada depois de r2 / 0 caso contrario
+     */
+    private int compareRevisions(int r1, int r2) {
+        if (store.getEpochDay(r1) > store.getEpochDay(r2))
+            return -1;
+        else if (store.getEpochDay(r1) < store.getEpochDay(r2))
+            return 1;
+        else {
+            if (store.getNumber(r1) > store.getNumber(r2))
+                return -1;
+            else if (store.getNumber(r1) < store.getNumber(r2))
+                return 1;
+            else {
+                return store.getProject(r1).compareTo(store.getProject(r2));
+            }
+        }
     }
 
     /**
@@ -57,18 +141,22 @@ public abstract class EmployeeClass implements Employee {
         return username;
     }
 
+    /**
+     * Obtem o simbolo do employee (identificador inteiro atribuido no registo)
+     * @return simbolo do employee
+     */
+    @Override
+    public int getSymbol() {
+        return symbol;
+    }
+
     /**
      * Obtem o numero de projetos onde o employee pertence
      * @return numero de projetos onde o employee pertence
      */
     @Override
     public int getNumProjects() {
-        int sum = 0;
-        for (Project project : projects.values()) {
-            if (project.getManagerUsername().equals(username))
-                sum++;
-        }
-        return projects.size() - sum;
+        return numProjects;
     }
 
     /**
@@ -97,15 +185,15 @@ public abstract class EmployeeClass implements Employee {
     @Override
     public int getCommonProjectsNum(Employee employee) {
         int sum = 0;
-        String username = employee.getUsername();
+        int symbol = employee.getSymbol();
 
-        if (this.username.equals(username))
+        if (this.symbol == symbol)
             return 0;
 
-        for (Project project : projects.values()) {
+        for (Project project : projects) {
             if (project instanceof InHouse) {
                 InHouse inHouse = ((InHouse) project);
-                if (inHouse.hasEmployee(username))
+                if (inHouse.hasEmployee(symbol))
                     sum++;
             }
         }
@@ -118,8 +206,7 @@ public abstract class EmployeeClass implements Employee {
      */
     @Override
     public Iterator<Revision> listRevisions() {
-        revisions.sort(new SortRevisionManages());
-        return revisions.iterator();
+        return new RevisionIterator(store, revisions, 0, revisions.size());
     }
 
     /**
@@ -128,15 +215,16 @@ public abstract class EmployeeClass implements Employee {
      */
     @Override
     public LocalDate getLastDate() {
-        LocalDate date = null;
-        for (Revision revision : revisions) {
-            LocalDate revisionDate = revision.getDate();
-            if (date == null)
-                date = revisionDate;
-            if (date.isBefore(revision.getDate()))
-                date = revisionDate;
-        }
-        return date;
+        return Dates.toLocalDate(lastDate);
+    }
+
+    /**
+     * Obtem a data da ultima revisao efetuada pelo employee como numero de dias desde 01-01-1970
+     * @return numero de dias desde 01-01-1970 da ultima revisao, ou Dates.NO_DATE se o employee nao tiver revisoes
+     */
+    @Override
+    public int getLastEpochDay() {
+        return lastDate;
     }
 
     /**
@@ -145,7 +233,6 @@ public abstract class EmployeeClass implements Employee {
      */
     @Override
     public String getLastDateFormatted() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(WRITE_DATE_FORMAT);
-        return formatter.format(getLastDate());
+        return Dates.format(lastDate);
     }
 }
@@ -15,9 +15,9 @@ public class EmployeeComparator implements Comparator<Employee> {
             else if (e1.getNumProjects() < e2.getNumProjects())
                 return 1;
             else {
-                if (e1.getLastDate().isAfter(e2.getLastDate()))
+                if (e1.getLastEpochDay() > e2.getLastEpochDay())
                     return -1;
-                else if (e1.getLastDate().isBefore(e2.getLastDate()))
+                else if (e1.getLastEpochDay() < e2.getLastEpochDay())
                     return 1;
                 else {
                     return e1.getUsername().compareTo(e2.getUsername());
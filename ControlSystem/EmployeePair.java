@@ -0,0 +1,27 @@
+package ControlSystem;
+
+public interface EmployeePair {
+
+    /**
+     * Obtem o primeiro employee do par (o de menor username)
+     * @return primeiro employee do par
+     */
+    Employee getFirst();
+
+    /**
+     * Obtem o segundo employee do par (o de maior username)
+     * @return segundo employee do par
+     */
+    Employee getSecond();
+
+    /**
+     * Obtem o numero de projetos em comum do par
+     * @return numero de projetos em comum do par
+     */
+    int getCommonProjectsNum();
+
+    /**
+     * Incrementa o numero de projetos em comum do par
+     */
+    void addCommonProject();
+}
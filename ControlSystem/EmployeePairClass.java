@@ -0,0 +1,64 @@
+package ControlSystem;
+
+public class EmployeePairClass implements EmployeePair {
+
+    private Employee first;
+    private Employee second;
+    private int commonProjectsNum;
+
+    /**
+     * Construtor da class EmployeePairClass
+     * @param first primeiro employee do par (o de menor username)
+     * @param second segundo employee do par (o de maior username)
+     */
+    public EmployeePairClass(Employee first, Employee second) {
+        this(first, second, 0);
+    }
+
+    /**
+     * Construtor da class EmployeePairClass com um numero de projetos em comum ja contado
+     * @param first primeiro employee do par (o de menor username)
+     * @param second segundo employee do par (o de maior username)
+     * @param commonProjectsNum numero de projetos em comum do par
+     */
+    public EmployeePairClass(Employee first, Employee second, int commonProjectsNum) {
+        this.first = first;
+        this.second = second;
+        this.commonProjectsNum = commonProjectsNum;
+    }
+
+    /**
+     * Obtem o primeiro employee do par (o de menor username)
+     * @return primeiro employee do par
+     */
+    @Override
+    public Employee getFirst() {
+        return first;
+    }
+
+    /**
+     * Obtem o segundo employee do par (o de maior username)
+     * @return segundo employee do par
+     */
+    @Override
+    public Employee getSecond() {
+        return second;
+    }
+
+    /**
+     * Obtem o numero de projetos em comum do par
+     * @return numero de projetos em comum do par
+     */
+    @Override
+    public int getCommonProjectsNum() {
+        return commonProjectsNum;
+    }
+
+    /**
+     * Incrementa o numero de projetos em comum do par
+     */
+    @Override
+    public void addCommonProject() {
+        commonProjectsNum++;
+    }
+}
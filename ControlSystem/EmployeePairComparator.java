@@ -0,0 +1,19 @@
+package ControlSystem;
+
+import java.util.Comparator;
+
+public class EmployeePairComparator implements Comparator<EmployeePair> {
+    @Override
+    public int compare(EmployeePair p1, EmployeePair p2) {
+        if (p1.getCommonProjectsNum() > p2.getCommonProjectsNum())
+            return -1;
+        else if (p1.getCommonProjectsNum() < p2.getCommonProjectsNum())
+            return 1;
+        else {
+            int first = p1.getFirst().getUsername().compareTo(p2.getFirst().getUsername());
+            if (first != 0)
+                return first;
+            return p1.getSecond().getUsername().compareTo(p2.getSecond().getUsername());
+        }
+    }
+}
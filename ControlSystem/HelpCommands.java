@@ -16,6 +16,7 @@ public enum HelpCommands {
     CMD_CONFIDENTIALITY_INFO ( "confidentiality - filters projects by confidentiality level"),
     CMD_WORKAHOLICS_INFO ( "workaholics - top 3 employees with more artefacts updates"),
     CMD_COMMON_INFO ( "common - employees with more projects in common"),
+    CMD_STATS_INFO ( "stats - shows latency statistics of the commands (only with --stats)"),
     CMD_HELP_INFO ( "help - shows the available commands"),
     CMD_EXIT_INFO ( "exit - terminates the execution of the program");
 
@@ -1,7 +1,6 @@
 package ControlSystem;
 
 import Exceptions.ArtefactAlreadyInProjectException;
-import Exceptions.ArtefactDoesNotExistException;
 import Exceptions.MemberAlreadyInTeamException;
 
 import java.time.LocalDate;
@@ -25,10 +24,25 @@ public interface InHouse extends Project {
     void addArtefact(Artefact artefact) throws ArtefactAlreadyInProjectException;
 
     /**
-     * Adiciona uma revisao ao projeto
-     * @param revision revisao a ser adicionada ao projeto
+     * Adiciona ao projeto um artefacto que ja tem todas as suas revisoes, contando-as (util para carregar um snapshot;
+     * a data mais recente do projeto e atualizada com addRevision)
+     * @param artefact artefacto a ser adicionado
+     * @throws ArtefactAlreadyInProjectException
+     */
+    void addLoadedArtefact(Artefact artefact) throws ArtefactAlreadyInProjectException;
+
+    /**
+     * Adiciona uma revisao ao projeto (atualiza a data da revisao mais recente)
+     * @param revision posicao da revisao no arquivo de revisoes
      */
-    void addRevision(Revision revision);
+    void addRevision(int revision);
+
+    /**
+     * Adiciona uma revisao a um artefacto do projeto, reposicionando-o nos artefactos ordenados por data
+     * @param artefact artefacto revisto
+     * @param revision posicao no arquivo da revisao a ser adicionada ao artefacto e ao projeto
+     */
+    void addArtefactRevision(Artefact artefact, int revision);
 
     /**
      * Obtem as keywords do projeto formatadas para o comando confidentiality
@@ -37,8 +51,8 @@ public interface InHouse extends Project {
     String getKeywordsFormatted();
 
     /**
-     * Reordena os artefactos (util para o comando projects)
-     * @return conjunto ordenado com todos os artefactos do projetos reordenados
+     * Obtem os artefactos ordenados pela data da ultima revisao (util para o comando projects)
+     * @return conjunto ordenado (so de leitura) com todos os artefactos do projeto
      */
     SortedSet<Artefact> sortArtefacts();
     /**
@@ -67,24 +81,24 @@ public interface InHouse extends Project {
 
     /**
      * Verifica se um dado membro existe na equipa do projeto
-     * @param name nome do membro a pesquisar
+     * @param symbol simbolo do membro a pesquisar
      * @return true se o membro pertencer a equipa do projeto / false caso contrario
      */
-    boolean hasEmployee(String name);
+    boolean hasEmployee(int symbol);
 
     /**
      * Verifica se um dado artefacto existe no projeto
-     * @param name nome do artefacto a pesquisar
+     * @param symbol simbolo do artefacto a pesquisar
      * @return true se o artefacto existir no projeto / false caso contrario
      */
-    boolean hasArtefact(String name);
+    boolean hasArtefact(int symbol);
 
     /**
-     * Obtem o artefacto com um dado nome
-     * @param name nome do artefacto
-     * @return artefacto com um dado nome
+     * Obtem o artefacto com um dado simbolo
+     * @param symbol simbolo do artefacto
+     * @return artefacto com o dado simbolo, ou null se o artefacto nao existir no projeto
      */
-    Artefact getArtefact(String name) throws ArtefactDoesNotExistException;
+    Artefact getArtefact(int symbol);
 
     /**
      * Lista a equipa do projeto
@@ -104,6 +118,12 @@ public interface InHouse extends Project {
      */
     LocalDate getRecentDateRevision();
 
+    /**
+     * Obtem a data da revisao mais recente do projeto como numero de dias desde 01-01-1970
+     * @return numero de dias desde 01-01-1970 da revisao mais recente, ou Dates.NO_DATE se o projeto nao tiver revisoes
+     */
+    int getRecentEpochDay();
+
     /**
      * Obtem a data da revisao mais recente do projeto formatada
      * @return string com a data da revisao mais recente do projeto formatada
@@ -1,39 +1,48 @@
 package ControlSystem;
 
 import Exceptions.ArtefactAlreadyInProjectException;
-import Exceptions.ArtefactDoesNotExistException;
 import Exceptions.MemberAlreadyInTeamException;
 import Exceptions.UserAlreadyExistsException;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
 
 public class InHouseClass extends ProjectClass implements InHouse {
 
-    private static final String WRITE_DATE_FORMAT = "dd-MM-yyyy";
-
     private int level;
-    // mudei esta colecao para o comando team (provavelmente mudar mais tarde)
-    private Map<String, Employee> team;
-    // mudei esta colecao para o comando project (provavelmente mudar mais tarde)
+    // membros da equipa pela ordem em que entraram (util para o comando team) e os seus simbolos
+    private List<Employee> team;
+    private BitSet teamSymbols;
+    // artefactos ordenados pela data da ultima revisao (util para o comando project)
     private SortedSet<Artefact> artefacts;
-    // util para o comando keyword
-    private List<Revision> revisions;
+    // artefactos indexados pelo simbolo do nome (util para os comandos artefacts e revision)
+    private Map<Integer, Artefact> artefactsBySymbol;
+    // arquivo das revisoes do projeto (so e usado para obter a data de cada revisao adicionada)
+    private RevisionStore store;
+    // numero de revisoes dos artefactos e data da revisao mais recente, mantidos a cada revisao
+    private int numRevisions;
+    private int recentDate;
 
     /**
      * Construtor da class InHouseClass
+     * @param store arquivo onde sao guardadas as revisoes
+     * @param symbol simbolo do projeto
      * @param id id do projeto
      * @param manager nome do manager do projeto
      * @param keywords descricao do projeto
+     * @param keywordSymbols simbolos das keywords do projeto
      * @param level nivel de acesso do projeto
      */
-    public InHouseClass(String id, Manager manager, String keywords, int level) {
-        super(id, manager, keywords);
+    public InHouseClass(RevisionStore store, int symbol, String id, Manager manager, String keywords, int[] keywordSymbols, int level) {
+        super(symbol, id, manager, keywords, keywordSymbols);
+        this.store = store;
         this.level = level;
-        this.team = new LinkedHashMap<>();
+        this.team = new ArrayList<>();
+        this.teamSymbols = new BitSet();
         this.artefacts = new TreeSet<>();
-        this.revisions = new LinkedList<>();
+        this.artefactsBySymbol = new HashMap<>();
+        this.numRevisions = 0;
+        this.recentDate = Dates.NO_DATE;
     }
 
     /**
@@ -43,10 +52,10 @@ public class InHouseClass extends ProjectClass implements InHouse {
      */
     @Override
     public void addEmployee(Employee employee) throws MemberAlreadyInTeamException {
-        String username = employee.getUsername();
-        if (team.containsKey(username))
-            throw new MemberAlreadyInTeamException(username);
-        team.put(username, employee);
+        if (hasEmployee(employee.getSymbol()))
+            throw new MemberAlreadyInTeamException(employee.getUsername());
+        team.add(employee);
+        teamSymbols.set(employee.getSymbol());
     }
 
     /**
@@ -56,18 +65,46 @@ public class InHouseClass extends ProjectClass implements InHouse {
      */
     @Override
     public void addArtefact(Artefact artefact) throws ArtefactAlreadyInProjectException {
-        if (hasArtefact(artefact.getName()))
+        if (hasArtefact(artefact.getSymbol()))
             throw new ArtefactAlreadyInProjectException(artefact.getName());
         artefacts.add(artefact);
+        artefactsBySymbol.put(artefact.getSymbol(), artefact);
+    }
+
+    /**
+     * Adiciona ao projeto um artefacto que ja tem todas as suas revisoes, contando-as (util para carregar um snapshot;
+     * a data mais recente do projeto e atualizada com addRevision)
+     * @param artefact artefacto a ser adicionado
+     * @throws ArtefactAlreadyInProjectException
+     */
+    @Override
+    public void addLoadedArtefact(Artefact artefact) throws ArtefactAlreadyInProjectException {
+        addArtefact(artefact);
+        numRevisions += artefact.getNumRevisions();
+    }
+
+    /**
+     * Adiciona uma revisao ao projeto (atualiza a data da revisao mais recente)
+     * @param revision posicao da revisao no arquivo de revisoes
+     */
+    @Override
+    public void addRevision(int revision) {
+        if (store.getEpochDay(revision) > recentDate)
+            recentDate = store.getEpochDay(revision);
     }
 
     /**
-     * Adiciona uma revisao ao projeto
-     * @param revision revisao a ser adicionada ao projeto
+     * Adiciona uma revisao a um artefacto do projeto, reposicionando-o nos artefactos ordenados por data
+     * @param artefact artefacto revisto
+     * @param revision posicao no arquivo da revisao a ser adicionada ao artefacto e ao projeto
      */
     @Override
-    public void addRevision(Revision revision) {
-        revisions.add(revision);
+    public void addArtefactRevision(Artefact artefact, int revision) {
+        artefacts.remove(artefact);
+        artefact.addRevision(revision);
+        artefacts.add(artefact);
+        numRevisions++;
+        addRevision(revision);
     }
 
     /**
@@ -83,15 +120,12 @@ public class InHouseClass extends ProjectClass implements InHouse {
     }
 
     /**
-     * Reordena os artefactos (util para o comando projects)
-     * @return conjunto ordenado com todos os artefactos do projetos reordenados
+     * Obtem os artefactos ordenados pela data da ultima revisao (util para o comando projects)
+     * @return conjunto ordenado (so de leitura) com todos os artefactos do projeto
      */
     @Override
     public SortedSet<Artefact> sortArtefacts() {
-        SortedSet<Artefact> aux = new TreeSet<>();
-        for (Artefact a : artefacts)
-            aux.add(a);
-        return aux;
+        return Collections.unmodifiableSortedSet(artefacts);
     }
 
     /**
@@ -127,49 +161,37 @@ public class InHouseClass extends ProjectClass implements InHouse {
      */
     @Override
     public int getNumRevisions() {
-        int sum = 0;
-        for (Artefact artefact : artefacts) {
-            sum += artefact.getNumRevisions();
-        }
-        return sum;
+        return numRevisions;
     }
 
     /**
      * Verifica se um dado membro existe na equipa do projeto
-     * @param name nome do membro a pesquisar
+     * @param symbol simbolo do membro a pesquisar
      * @return true se o membro pertencer a equipa do projeto / false caso contrario
      */
     @Override
-    public boolean hasEmployee(String name) {
-        return team.containsKey(name);
+    public boolean hasEmployee(int symbol) {
+        return symbol != SymbolTable.NO_SYMBOL && teamSymbols.get(symbol);
     }
 
     /**
      * Verifica se um dado artefacto existe no projeto
-     * @param name nome do artefacto a pesquisar
+     * @param symbol simbolo do artefacto a pesquisar
      * @return true se o artefacto existir no projeto / false caso contrario
      */
     @Override
-    public boolean hasArtefact(String name) {
-        for (Artefact a : artefacts) {
-            if (a.getName().equals(name))
-                return true;
-        }
-        return false;
+    public boolean hasArtefact(int symbol) {
+        return artefactsBySymbol.containsKey(symbol);
     }
 
     /**
-     * Obtem o artefacto com um dado nome
-     * @param name nome do artefacto
-     * @return artefacto com um dado nome
+     * Obtem o artefacto com um dado simbolo
+     * @param symbol simbolo do artefacto
+     * @return artefacto com o dado simbolo, ou null se o artefacto nao existir no projeto
      */
     @Override
-    public Artefact getArtefact(String name) throws ArtefactDoesNotExistException {
-        for (Artefact a : artefacts) {
-            if (a.getName().equals(name))
-                return a;
-        }
-        throw new ArtefactDoesNotExistException(name);
+    public Artefact getArtefact(int symbol) {
+        return artefactsBySymbol.get(symbol);
     }
 
     /**
@@ -178,7 +200,7 @@ public class InHouseClass extends ProjectClass implements InHouse {
      */
     @Override
     public Iterator<Employee> listTeam() {
-        return team.values().iterator();
+        return Collections.unmodifiableList(team).iterator();
     }
 
     /**
@@ -196,18 +218,16 @@ public class InHouseClass extends ProjectClass implements InHouse {
      */
     @Override
     public LocalDate getRecentDateRevision() {
+        return Dates.toLocalDate(recentDate);
+    }
 
-        LocalDate date = null;
-
-        for (Revision r : revisions) {
-            if (date == null)
-                date = r.getDate();
-            else if (r.getDate().isAfter(date)) {
-                date = r.getDate();
-            }
-        }
-
-        return date;
+    /**
+     * Obtem a data da revisao mais recente do projeto como numero de dias desde 01-01-1970
+     * @return numero de dias desde 01-01-1970 da revisao mais recente, ou Dates.NO_DATE se o projeto nao tiver revisoes
+     */
+    @Override
+    public int getRecentEpochDay() {
+        return recentDate;
     }
 
     /**
@@ -216,7 +236,6 @@ public class InHouseClass extends ProjectClass implements InHouse {
      */
     @Override
     public String getRecentDateRevisionAsString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(WRITE_DATE_FORMAT);
-        return formatter.format(getRecentDateRevision());
+        return Dates.format(recentDate);
     }
 }
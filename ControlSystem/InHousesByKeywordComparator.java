@@ -5,9 +5,10 @@ import java.util.Comparator;
 public class InHousesByKeywordComparator implements Comparator<InHouse> {
     @Override
     public int compare(InHouse p1, InHouse p2) {
-        if (p1.getRecentDateRevision().isAfter(p2.getRecentDateRevision()))
+        // projetos ainda sem revisoes (Dates.NO_DATE) ficam depois dos restantes
+        if (p1.getRecentEpochDay() > p2.getRecentEpochDay())
             return -1;
-        else if (p1.getRecentDateRevision().isBefore(p2.getRecentDateRevision()))
+        else if (p1.getRecentEpochDay() < p2.getRecentEpochDay())
             return 1;
         else {
             if (p1.getNumRevisions() > p2.getNumRevisions())
@@ -0,0 +1,459 @@
+package ControlSystem;
+
+import Exceptions.*;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.List;
+
+public class InstrumentedControlSystem extends ControlSystemDecorator {
+
+    private Statistics statistics;
+    // histogramas obtidos uma unica vez, para que cada chamada so pague o nanoTime e o registo no histograma
+    private final LatencyHistogram register;
+    private final LatencyHistogram createProject;
+    private final LatencyHistogram addEmployeeToProject;
+    private final LatencyHistogram addArtefactToProject;
+    private final LatencyHistogram addTeamToProject;
+    private final LatencyHistogram addArtefactsToProject;
+    private final LatencyHistogram addRevision;
+    private final LatencyHistogram listUsers;
+    private final LatencyHistogram listProjects;
+    private final LatencyHistogram getProjectInfo;
+    private final LatencyHistogram listTeamInProject;
+    private final LatencyHistogram listArtefactsInProject;
+    private final LatencyHistogram listRevisions;
+    private final LatencyHistogram listManagedDevelopers;
+    private final LatencyHistogram listInHousesByKeyword;
+    private final LatencyHistogram listOutsourcedByKeyword;
+    private final LatencyHistogram listByConfidentiality;
+    private final LatencyHistogram listWorkaholics;
+    private final LatencyHistogram listCommon;
+
+    /**
+     * Construtor da class InstrumentedControlSystem: mede a latencia dos metodos do sistema e conta os elementos
+     * percorridos nas listagens (so e usado quando o Main e executado com --stats, caso contrario nao ha custo nenhum)
+     * @param delegate sistema a ser medido
+     * @param statistics estatisticas onde sao registadas as medicoes
+     */
+    public InstrumentedControlSystem(ControlSystem delegate, Statistics statistics) {
+        super(delegate);
+        this.statistics = statistics;
+        this.register = statistics.entryPoint("register");
+        this.createProject = statistics.entryPoint("createProject");
+        this.addEmployeeToProject = statistics.entryPoint("addEmployeeToProject");
+        this.addArtefactToProject = statistics.entryPoint("addArtefactToProject");
+        this.addTeamToProject = statistics.entryPoint("addTeamToProject");
+        this.addArtefactsToProject = statistics.entryPoint("addArtefactsToProject");
+        this.addRevision = statistics.entryPoint("addRevision");
+        this.listUsers = statistics.entryPoint("listUsers");
+        this.listProjects = statistics.entryPoint("listProjects");
+        this.getProjectInfo = statistics.entryPoint("getProjectInfo");
+        this.listTeamInProject = statistics.entryPoint("listTeamInProject");
+        this.listArtefactsInProject = statistics.entryPoint("listArtefactsInProject");
+        this.listRevisions = statistics.entryPoint("listRevisions");
+        this.listManagedDevelopers = statistics.entryPoint("listManagedDevelopers");
+        this.listInHousesByKeyword = statistics.entryPoint("listInHousesByKeyword");
+        this.listOutsourcedByKeyword = statistics.entryPoint("listOutsourcedByKeyword");
+        this.listByConfidentiality = statistics.entryPoint("listByConfidentiality");
+        this.listWorkaholics = statistics.entryPoint("listWorkaholics");
+        this.listCommon = statistics.entryPoint("listCommon");
+    }
+
+    /**
+     * Regista um manager no sistema
+     * @param username nome do manager a ser registado
+     * @param job cargo manager
+     * @param level nivel do manager
+     * @throws UnknownJobPositionException
+     * @throws UserAlreadyExistsException
+     */
+    @Override
+    public void register(String username, Job job, int level) throws UnknownJobPositionException, UserAlreadyExistsException {
+        long start = System.nanoTime();
+        try {
+            delegate.register(username, job, level);
+        } finally {
+            register.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Regista um developer no sistema
+     * @param username nome do developer a ser registado
+     * @param manager nome do manager do developer
+     * @param job cargo developer
+     * @param level nivel do developer
+     * @throws UnknownJobPositionException
+     * @throws UserAlreadyExistsException
+     * @throws ManagerDoesNotExistException
+     */
+    @Override
+    public void register(String username, String manager, Job job, int level) throws UnknownJobPositionException, UserAlreadyExistsException, ManagerDoesNotExistException {
+        long start = System.nanoTime();
+        try {
+            delegate.register(username, manager, job, level);
+        } finally {
+            register.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Cria um novo projeto In-House
+     * @param id nome do projeto a ser criado
+     * @param managerName nome do manager do projeto
+     * @param keywords descricao do projeto
+     * @param level nivel do projeto
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectAlreadyExistsException
+     * @throws UnderClearanceLevelException
+     */
+    @Override
+    public void createProject(String id, String managerName, String keywords, int level) throws ManagerDoesNotExistException, ProjectAlreadyExistsException, UnderClearanceLevelException {
+        long start = System.nanoTime();
+        try {
+            delegate.createProject(id, managerName, keywords, level);
+        } finally {
+            createProject.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Cria um novo projeto Outsourced
+     * @param id nome do projeto a ser criado
+     * @param managerName nome do manager do projeto
+     * @param keywords descricao do projeto
+     * @param company companhia a qual o projeto pertence
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectAlreadyExistsException
+     */
+    @Override
+    public void createProject(String id, String managerName, String keywords, String company) throws ManagerDoesNotExistException, ProjectAlreadyExistsException {
+        long start = System.nanoTime();
+        try {
+            delegate.createProject(id, managerName, keywords, company);
+        } finally {
+            createProject.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adiciona um membro a um projeto
+     * @param managerName nome do manager do projeto
+     * @param id id do projeto
+     * @param member nome do membro a ser adicionado
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws ProjectNotManagedByUserException
+     * @throws MemberAlreadyInTeamException
+     * @throws EmployeeDoesNotExistException
+     * @throws InsufficientClearanceLevelException
+     */
+    @Override
+    public void addEmployeeToProject(String managerName, String id, String member) throws ManagerDoesNotExistException, ProjectDoesNotExistException, ProjectNotManagedByUserException, MemberAlreadyInTeamException, EmployeeDoesNotExistException, InsufficientClearanceLevelException {
+        long start = System.nanoTime();
+        try {
+            delegate.addEmployeeToProject(managerName, id, member);
+        } finally {
+            addEmployeeToProject.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adiciona um artefacto a um projeto
+     * @param artefactName artefacto a ser adicionado
+     * @param id id do projeto
+     * @param date data em que o artefacto foi adicionado
+     * @throws UserDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws MemberNotInTeamException
+     * @throws ArtefactAlreadyInProjectException
+     * @throws ArtefactHasHigherLevelException
+     * @throws EmployeeDoesNotExistException
+     */
+    @Override
+    public void addArtefactToProject(Artefact artefactName, String id, LocalDate date) throws UserDoesNotExistException, ProjectDoesNotExistException, MemberNotInTeamException, ArtefactAlreadyInProjectException, ArtefactHasHigherLevelException, EmployeeDoesNotExistException {
+        long start = System.nanoTime();
+        try {
+            delegate.addArtefactToProject(artefactName, id, date);
+        } finally {
+            addArtefactToProject.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adiciona varios membros a um projeto, validando o manager e o projeto uma unica vez
+     * @param managerName nome do manager do projeto
+     * @param id id do projeto
+     * @param members nomes dos membros a serem adicionados, pela ordem em que sao adicionados
+     * @return resultado de cada membro, pela mesma ordem (ADDED_TO_TEAM, ALREADY_MEMBER, EMPLOYEE_DOES_NOT_EXIST ou
+     * INSUFFICIENT_CLEARANCE_LEVEL)
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws ProjectNotManagedByUserException
+     */
+    @Override
+    public AddResult[] addTeamToProject(String managerName, String id, List<String> members) throws ManagerDoesNotExistException, ProjectDoesNotExistException, ProjectNotManagedByUserException {
+        long start = System.nanoTime();
+        try {
+            return delegate.addTeamToProject(managerName, id, members);
+        } finally {
+            addTeamToProject.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adiciona varios artefactos de um employee a um projeto, validando o employee e o projeto uma unica vez
+     * @param username nome do employee dono dos artefactos
+     * @param id id do projeto
+     * @param date data da criacao dos artefactos
+     * @param artefacts artefactos criados com createArtefact para o employee, pela ordem em que sao adicionados
+     * @return resultado de cada artefacto, pela mesma ordem (ADDED_TO_PROJECT, ARTEFACT_ALREADY_IN_PROJECT ou
+     * ARTEFACT_HAS_HIGHER_LEVEL)
+     * @throws UserDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws MemberNotInTeamException
+     */
+    @Override
+    public AddResult[] addArtefactsToProject(String username, String id, LocalDate date, List<Artefact> artefacts) throws UserDoesNotExistException, ProjectDoesNotExistException, MemberNotInTeamException {
+        long start = System.nanoTime();
+        try {
+            return delegate.addArtefactsToProject(username, id, date, artefacts);
+        } finally {
+            addArtefactsToProject.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Adiciona uma revisao a um dado artefacto num projeto
+     * @param username nome do employee que fez a revisao
+     * @param id id do projeto
+     * @param artefactName nome do artefacto
+     * @param date data da revisao
+     * @param comment comentario da revisao
+     * @return numero da revisao que acabou de ser criada
+     * @throws UserDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws ArtefactDoesNotExistException
+     * @throws MemberNotInTeamException
+     * @throws EmployeeDoesNotExistException
+     */
+    @Override
+    public int addRevision(String username, String id, String artefactName, LocalDate date, String comment) throws UserDoesNotExistException, ProjectDoesNotExistException, ArtefactDoesNotExistException, MemberNotInTeamException, EmployeeDoesNotExistException {
+        long start = System.nanoTime();
+        try {
+            return delegate.addRevision(username, id, artefactName, date, comment);
+        } finally {
+            addRevision.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Lista todos os employees registados
+     * @return iterador com todos os employees registados, que conta os employees percorridos
+     * @throws EmptyUsersException
+     */
+    @Override
+    public Iterator<Employee> listUsers() throws EmptyUsersException {
+        long start = System.nanoTime();
+        try {
+            return new CountingIterator<>(delegate.listUsers(), statistics::userScanned);
+        } finally {
+            listUsers.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Lista todos os projetos criados
+     * @return iterador com todos os projetos criados, que conta os projetos percorridos
+     * @throws EmptyProjectsException
+     */
+    @Override
+    public Iterator<Project> listProjects() throws EmptyProjectsException {
+        long start = System.nanoTime();
+        try {
+            return new CountingIterator<>(delegate.listProjects(), statistics::projectScanned);
+        } finally {
+            listProjects.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Obtem o projeto In-House com um dado id (usado no comando projects, pois lanca mais uma excecao)
+     * @param id id do projeto In-House a ser pesquisado
+     * @return projeto In-House com o dado id
+     * @throws ProjectDoesNotExistException
+     * @throws OutsourcedProjectException
+     */
+    @Override
+    public InHouse getProjectInfo(String id) throws ProjectDoesNotExistException, OutsourcedProjectException {
+        long start = System.nanoTime();
+        try {
+            return delegate.getProjectInfo(id);
+        } finally {
+            getProjectInfo.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Lista a equipa de um projeto
+     * @param id id do projeto
+     * @return iterador com todos os membros da equipa do projeto, que conta os employees percorridos
+     * @throws ProjectDoesNotExistException
+     * @throws OutsourcedProjectException
+     */
+    @Override
+    public Iterator<Employee> listTeamInProject(String id) throws ProjectDoesNotExistException, OutsourcedProjectException {
+        long start = System.nanoTime();
+        try {
+            return new CountingIterator<>(delegate.listTeamInProject(id), statistics::userScanned);
+        } finally {
+            listTeamInProject.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Lista os artefactos de um projeto
+     * @param id id do projeto
+     * @return iterador com todos os artefactos do projeto, que conta os artefactos percorridos
+     * @throws ProjectDoesNotExistException
+     * @throws OutsourcedProjectException
+     */
+    @Override
+    public Iterator<Artefact> listArtefactsInProject(String id) throws ProjectDoesNotExistException, OutsourcedProjectException {
+        long start = System.nanoTime();
+        try {
+            return new CountingIterator<>(delegate.listArtefactsInProject(id), statistics::artefactScanned);
+        } finally {
+            listArtefactsInProject.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Lista as revisoes de um artefacto
+     * @param artefact artefacto
+     * @return iterador com todas as revisoes do artefacto, que conta as revisoes percorridas
+     */
+    @Override
+    public Iterator<Revision> listRevisions(Artefact artefact) {
+        long start = System.nanoTime();
+        try {
+            return new CountingIterator<>(delegate.listRevisions(artefact), statistics::revisionScanned);
+        } finally {
+            listRevisions.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Lista as revisoes de um artefacto com numeros num dado intervalo
+     * @param artefact artefacto
+     * @param from numero da primeira revisao do intervalo
+     * @param to numero da ultima revisao do intervalo
+     * @return iterador com as revisoes do artefacto no dado intervalo, que conta as revisoes percorridas
+     * @throws RevisionDoesNotExistException
+     */
+    @Override
+    public Iterator<Revision> listRevisions(Artefact artefact, int from, int to) throws RevisionDoesNotExistException {
+        long start = System.nanoTime();
+        try {
+            return new CountingIterator<>(delegate.listRevisions(artefact, from, to), statistics::revisionScanned);
+        } finally {
+            listRevisions.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Lista os developers que estao associados a um manager
+     * @param username nome do manager
+     * @return iterador com todos os developers associados ao manager, que conta os employees percorridos
+     * @throws ManagerDoesNotExistException
+     */
+    @Override
+    public Iterator<Developer> listManagedDevelopers(String username) throws ManagerDoesNotExistException {
+        long start = System.nanoTime();
+        try {
+            return new CountingIterator<>(delegate.listManagedDevelopers(username), statistics::userScanned);
+        } finally {
+            listManagedDevelopers.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Lista os projetos In-House que contem uma keyword
+     * @param keyword filtro keyword
+     * @return iterador com todos os projetos In-House que contem a keyword, que conta os projetos percorridos
+     * @throws NoProjectsWithKeywordException
+     */
+    @Override
+    public Iterator<InHouse> listInHousesByKeyword(String keyword) throws NoProjectsWithKeywordException {
+        long start = System.nanoTime();
+        try {
+            return new CountingIterator<>(delegate.listInHousesByKeyword(keyword), statistics::projectScanned);
+        } finally {
+            listInHousesByKeyword.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Lista os projetos Outsourced que contem uma keyword
+     * @param keyword filtro keyword
+     * @return iterador com todos os projetos Outsourced que contem a keyword, que conta os projetos percorridos
+     * @throws NoProjectsWithKeywordException
+     */
+    @Override
+    public Iterator<Outsourced> listOutsourcedByKeyword(String keyword) throws NoProjectsWithKeywordException {
+        long start = System.nanoTime();
+        try {
+            return new CountingIterator<>(delegate.listOutsourcedByKeyword(keyword), statistics::projectScanned);
+        } finally {
+            listOutsourcedByKeyword.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Lista os projetos In-House num dado intervalo de niveis de confidencialidade
+     * @param lower limite inferior de confidencialidade
+     * @param upper limite superior de confidencialidade
+     * @return iterador com os projetos In-House no dado intervalo, que conta os projetos percorridos
+     * @throws NoProjectsWithinLevelsException
+     */
+    @Override
+    public Iterator<InHouse> listByConfidentiality(int lower, int upper) throws NoProjectsWithinLevelsException {
+        long start = System.nanoTime();
+        try {
+            return new CountingIterator<>(delegate.listByConfidentiality(lower, upper), statistics::projectScanned);
+        } finally {
+            listByConfidentiality.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Lista os 3 employees mais trabalhadores
+     * @return iterador com os 3 employees mais trabalhadores, que conta os employees percorridos
+     * @throws NoWorkaholicsException
+     */
+    @Override
+    public Iterator<Employee> listWorkaholics() throws NoWorkaholicsException {
+        long start = System.nanoTime();
+        try {
+            return new CountingIterator<>(delegate.listWorkaholics(), statistics::userScanned);
+        } finally {
+            listWorkaholics.record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Lista os 2 employees que tem mais projetos em comum
+     * @return iterador com os 2 employees que tem mais projetos em comum, que conta os employees percorridos
+     * @throws NoCommonProjectsException
+     */
+    @Override
+    public Iterator<Employee> listCommon() throws NoCommonProjectsException {
+        long start = System.nanoTime();
+        try {
+            return new CountingIterator<>(delegate.listCommon(), statistics::userScanned);
+        } finally {
+            listCommon.record(System.nanoTime() - start);
+        }
+    }
+}
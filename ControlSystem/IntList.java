@@ -0,0 +1,80 @@
+package ControlSystem;
+
+import java.util.Arrays;
+
+public class IntList {
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private int[] values;
+    private int size;
+
+    /**
+     * Construtor da class IntList (lista de inteiros primitivos, sem um objeto por elemento)
+     */
+    public IntList() {
+        this.values = new int[INITIAL_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * Construtor da class IntList com os valores de um array (o array passa a pertencer a lista, sem ser copiado)
+     * @param values valores iniciais da lista
+     */
+    public IntList(int[] values) {
+        this.values = values.length == 0 ? new int[INITIAL_CAPACITY] : values;
+        this.size = values.length;
+    }
+
+    /**
+     * Adiciona um valor no fim da lista
+     * @param value valor a ser adicionado
+     */
+    public void add(int value) {
+        if (size == values.length)
+            values = Arrays.copyOf(values, size * 2);
+        values[size++] = value;
+    }
+
+    /**
+     * Adiciona um valor numa dada posicao da lista, deslocando os seguintes
+     * @param index posicao onde adicionar o valor
+     * @param value valor a ser adicionado
+     */
+    public void add(int index, int value) {
+        if (index < 0 || index > size)
+            throw new IndexOutOfBoundsException(index);
+        if (size == values.length)
+            values = Arrays.copyOf(values, size * 2);
+        System.arraycopy(values, index, values, index + 1, size - index);
+        values[index] = value;
+        size++;
+    }
+
+    /**
+     * Obtem o valor numa dada posicao da lista
+     * @param index posicao do valor
+     * @return valor na dada posicao
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(index);
+        return values[index];
+    }
+
+    /**
+     * Obtem o numero de valores da lista
+     * @return numero de valores da lista
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copia os valores da lista para um array
+     * @return array com os valores da lista, pela mesma ordem
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(values, size);
+    }
+}
@@ -0,0 +1,393 @@
+package ControlSystem;
+
+import Exceptions.*;
+import IO.JournalReader;
+import IO.JournalWriter;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+public class JournalingControlSystem extends ControlSystemDecorator implements Flushable, Closeable {
+
+    // tipos dos registos do journal, um por cada comando que altera o sistema
+    private static final int REGISTER_MANAGER = 1;
+    private static final int REGISTER_DEVELOPER = 2;
+    private static final int CREATE_INHOUSE = 3;
+    private static final int CREATE_OUTSOURCED = 4;
+    private static final int ADD_EMPLOYEE = 5;
+    private static final int ADD_ARTEFACT = 6;
+    private static final int ADD_REVISION = 7;
+
+    private String fileName;
+    // cada registo e escrito com o monitor do journal, pois alteracoes a projetos diferentes podem ser feitas em paralelo
+    private JournalWriter journal;
+    // geracao do journal aberto: um snapshot guarda a geracao que contem, e o journal recomeca com a seguinte
+    private int generation;
+
+    /**
+     * Construtor da class JournalingControlSystem: repoe no sistema os registos ja existentes no journal (se nao estiverem
+     * ja no snapshot carregado) e depois acrescenta ao journal cada alteracao validada (so fica no disco no proximo flush,
+     * que agrupa as alteracoes pendentes)
+     * @param delegate sistema onde as alteracoes sao aplicadas (vazio ou carregado do snapshot que precede o journal)
+     * @param fileName nome do ficheiro do journal
+     * @throws IOException
+     * @throws InvalidJournalException
+     */
+    public JournalingControlSystem(ControlSystem delegate, String fileName) throws IOException, InvalidJournalException {
+        super(delegate);
+        this.fileName = fileName;
+        long validLength = replay();
+        this.journal = new JournalWriter(fileName, generation, validLength);
+    }
+
+    /**
+     * Regista um manager no sistema
+     * @param username nome do manager a ser registado
+     * @param job cargo manager
+     * @param level nivel do manager
+     * @throws UnknownJobPositionException
+     * @throws UserAlreadyExistsException
+     */
+    @Override
+    public void register(String username, Job job, int level) throws UnknownJobPositionException, UserAlreadyExistsException {
+        delegate.register(username, job, level);
+        synchronized (journal) {
+            journal.beginRecord();
+            journal.writeByte(REGISTER_MANAGER);
+            journal.writeString(username);
+            journal.writeInt(level);
+            journal.endRecord();
+        }
+    }
+
+    /**
+     * Regista um developer no sistema
+     * @param username nome do developer a ser registado
+     * @param manager nome do manager do developer
+     * @param job cargo developer
+     * @param level nivel do developer
+     * @throws UnknownJobPositionException
+     * @throws UserAlreadyExistsException
+     * @throws ManagerDoesNotExistException
+     */
+    @Override
+    public void register(String username, String manager, Job job, int level) throws UnknownJobPositionException, UserAlreadyExistsException, ManagerDoesNotExistException {
+        delegate.register(username, manager, job, level);
+        synchronized (journal) {
+            journal.beginRecord();
+            journal.writeByte(REGISTER_DEVELOPER);
+            journal.writeString(username);
+            journal.writeString(manager);
+            journal.writeInt(level);
+            journal.endRecord();
+        }
+    }
+
+    /**
+     * Cria um novo projeto In-House
+     * @param id nome do projeto a ser criado
+     * @param managerName nome do manager do projeto
+     * @param keywords descricao do projeto
+     * @param level nivel do projeto
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectAlreadyExistsException
+     * @throws UnderClearanceLevelException
+     */
+    @Override
+    public void createProject(String id, String managerName, String keywords, int level) throws ManagerDoesNotExistException, ProjectAlreadyExistsException, UnderClearanceLevelException {
+        delegate.createProject(id, managerName, keywords, level);
+        synchronized (journal) {
+            journal.beginRecord();
+            journal.writeByte(CREATE_INHOUSE);
+            journal.writeString(id);
+            journal.writeString(managerName);
+            journal.writeString(keywords);
+            journal.writeInt(level);
+            journal.endRecord();
+        }
+    }
+
+    /**
+     * Cria um novo projeto Outsourced
+     * @param id nome do projeto a ser criado
+     * @param managerName nome do manager do projeto
+     * @param keywords descricao do projeto
+     * @param company companhia a qual o projeto pertence
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectAlreadyExistsException
+     */
+    @Override
+    public void createProject(String id, String managerName, String keywords, String company) throws ManagerDoesNotExistException, ProjectAlreadyExistsException {
+        delegate.createProject(id, managerName, keywords, company);
+        synchronized (journal) {
+            journal.beginRecord();
+            journal.writeByte(CREATE_OUTSOURCED);
+            journal.writeString(id);
+            journal.writeString(managerName);
+            journal.writeString(keywords);
+            journal.writeString(company);
+            journal.endRecord();
+        }
+    }
+
+    /**
+     * Adiciona um membro a um projeto
+     * @param managerName nome do manager do projeto
+     * @param id id do projeto
+     * @param member nome do membro a ser adicionado
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws ProjectNotManagedByUserException
+     * @throws MemberAlreadyInTeamException
+     * @throws EmployeeDoesNotExistException
+     * @throws InsufficientClearanceLevelException
+     */
+    @Override
+    public void addEmployeeToProject(String managerName, String id, String member) throws ManagerDoesNotExistException, ProjectDoesNotExistException, ProjectNotManagedByUserException, MemberAlreadyInTeamException, EmployeeDoesNotExistException, InsufficientClearanceLevelException {
+        delegate.addEmployeeToProject(managerName, id, member);
+        synchronized (journal) {
+            journal.beginRecord();
+            journal.writeByte(ADD_EMPLOYEE);
+            journal.writeString(managerName);
+            journal.writeString(id);
+            journal.writeString(member);
+            journal.endRecord();
+        }
+    }
+
+    /**
+     * Adiciona um artefacto a um projeto
+     * @param artefact artefacto a ser adicionado
+     * @param id id do projeto
+     * @param date data da criacao do artefacto
+     * @throws UserDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws MemberNotInTeamException
+     * @throws ArtefactAlreadyInProjectException
+     * @throws ArtefactHasHigherLevelException
+     * @throws EmployeeDoesNotExistException
+     */
+    @Override
+    public void addArtefactToProject(Artefact artefact, String id, LocalDate date) throws UserDoesNotExistException, ProjectDoesNotExistException, MemberNotInTeamException, ArtefactAlreadyInProjectException, ArtefactHasHigherLevelException, EmployeeDoesNotExistException {
+        delegate.addArtefactToProject(artefact, id, date);
+        synchronized (journal) {
+            journal.beginRecord();
+            journal.writeByte(ADD_ARTEFACT);
+            journal.writeString(artefact.getOwner());
+            journal.writeString(artefact.getName());
+            journal.writeInt(artefact.getLevel());
+            journal.writeString(artefact.getDescription());
+            journal.writeString(id);
+            journal.writeInt((int) date.toEpochDay());
+            journal.endRecord();
+        }
+    }
+
+    /**
+     * Adiciona varios membros a um projeto, validando o manager e o projeto uma unica vez
+     * @param managerName nome do manager do projeto
+     * @param id id do projeto
+     * @param members nomes dos membros a serem adicionados, pela ordem em que sao adicionados
+     * @return resultado de cada membro, pela mesma ordem (ADDED_TO_TEAM, ALREADY_MEMBER, EMPLOYEE_DOES_NOT_EXIST ou
+     * INSUFFICIENT_CLEARANCE_LEVEL)
+     * @throws ManagerDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws ProjectNotManagedByUserException
+     */
+    @Override
+    public AddResult[] addTeamToProject(String managerName, String id, List<String> members) throws ManagerDoesNotExistException, ProjectDoesNotExistException, ProjectNotManagedByUserException {
+        AddResult[] results = delegate.addTeamToProject(managerName, id, members);
+        // cada membro adicionado e um registo ADD_EMPLOYEE, reposto com addEmployeeToProject como os outros
+        int i = 0;
+        for (String member : members) {
+            if (results[i++].isAdded()) {
+                synchronized (journal) {
+                    journal.beginRecord();
+                    journal.writeByte(ADD_EMPLOYEE);
+                    journal.writeString(managerName);
+                    journal.writeString(id);
+                    journal.writeString(member);
+                    journal.endRecord();
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Adiciona varios artefactos de um employee a um projeto, validando o employee e o projeto uma unica vez
+     * @param username nome do employee dono dos artefactos
+     * @param id id do projeto
+     * @param date data da criacao dos artefactos
+     * @param artefacts artefactos criados com createArtefact para o employee, pela ordem em que sao adicionados
+     * @return resultado de cada artefacto, pela mesma ordem (ADDED_TO_PROJECT, ARTEFACT_ALREADY_IN_PROJECT ou
+     * ARTEFACT_HAS_HIGHER_LEVEL)
+     * @throws UserDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws MemberNotInTeamException
+     */
+    @Override
+    public AddResult[] addArtefactsToProject(String username, String id, LocalDate date, List<Artefact> artefacts) throws UserDoesNotExistException, ProjectDoesNotExistException, MemberNotInTeamException {
+        AddResult[] results = delegate.addArtefactsToProject(username, id, date, artefacts);
+        // cada artefacto adicionado e um registo ADD_ARTEFACT, reposto com addArtefactToProject como os outros
+        int i = 0;
+        for (Artefact artefact : artefacts) {
+            if (results[i++].isAdded()) {
+                synchronized (journal) {
+                    journal.beginRecord();
+                    journal.writeByte(ADD_ARTEFACT);
+                    journal.writeString(artefact.getOwner());
+                    journal.writeString(artefact.getName());
+                    journal.writeInt(artefact.getLevel());
+                    journal.writeString(artefact.getDescription());
+                    journal.writeString(id);
+                    journal.writeInt((int) date.toEpochDay());
+                    journal.endRecord();
+                }
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Adiciona uma revisao a um dado artefacto num projeto
+     * @param username nome do employee que fez a revisao
+     * @param id id do projeto
+     * @param artefactName nome do artefacto
+     * @param date data da revisao
+     * @param comment comentario da revisao
+     * @return numero da revisao que acabou de ser criada
+     * @throws UserDoesNotExistException
+     * @throws ProjectDoesNotExistException
+     * @throws ArtefactDoesNotExistException
+     * @throws MemberNotInTeamException
+     * @throws EmployeeDoesNotExistException
+     */
+    @Override
+    public int addRevision(String username, String id, String artefactName, LocalDate date, String comment) throws UserDoesNotExistException, ProjectDoesNotExistException, ArtefactDoesNotExistException, MemberNotInTeamException, EmployeeDoesNotExistException {
+        int revision = delegate.addRevision(username, id, artefactName, date, comment);
+        synchronized (journal) {
+            journal.beginRecord();
+            journal.writeByte(ADD_REVISION);
+            journal.writeString(username);
+            journal.writeString(id);
+            journal.writeString(artefactName);
+            journal.writeInt((int) date.toEpochDay());
+            journal.writeString(comment);
+            journal.endRecord();
+        }
+        return revision;
+    }
+
+    /**
+     * Guarda o estado do sistema num snapshot e esvazia o journal, cujas alteracoes passam a estar no snapshot; o
+     * snapshot regista a geracao do journal, por isso se o processo terminar antes de o journal ser esvaziado os seus
+     * registos sao ignorados na proxima abertura em vez de serem repostos duas vezes
+     * @param fileName nome do ficheiro do snapshot
+     * @throws IOException
+     */
+    @Override
+    public void saveSnapshot(String fileName) throws IOException {
+        delegate.setJournalGeneration(generation);
+        delegate.saveSnapshot(fileName);
+        generation++;
+        journal.reset(generation);
+    }
+
+    /**
+     * Escreve e sincroniza com o disco todas as alteracoes pendentes (deve ser chamado antes de confirmar os comandos)
+     * @throws IOException
+     */
+    @Override
+    public void flush() throws IOException {
+        journal.flush();
+    }
+
+    /**
+     * Sincroniza as alteracoes pendentes e fecha o journal
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    /**
+     * Repoe no sistema decorado todos os registos validos do journal (um registo final incompleto e ignorado), se a
+     * geracao do journal for a seguinte a contida no sistema; um journal vazio, ou de uma geracao ja contida no snapshot
+     * carregado (checkpoint interrompido antes de esvaziar o journal), e recomecado com a geracao seguinte
+     * @return tamanho da parte valida do journal, ou 0 se o journal for recomecado
+     * @throws IOException
+     * @throws InvalidJournalException
+     */
+    private long replay() throws IOException, InvalidJournalException {
+        try (JournalReader in = new JournalReader(fileName)) {
+            int contained = delegate.getJournalGeneration();
+            generation = in.getGeneration();
+            if (generation == JournalReader.NO_GENERATION || generation <= contained) {
+                generation = contained + 1;
+                return 0;
+            }
+            // um journal mais recente do que a geracao seguinte pertence a um snapshot que nao foi carregado
+            if (generation > contained + 1)
+                throw new InvalidJournalException(fileName);
+            while (in.nextRecord())
+                apply(in);
+            return in.getValidLength();
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            // os registos foram validados quando foram escritos, por isso so falham num journal que nao pertence a este sistema
+            throw new InvalidJournalException(fileName);
+        }
+    }
+
+    /**
+     * Aplica no sistema decorado o registo atual do journal
+     * @param in leitor do journal, posicionado num registo
+     * @throws Exception
+     */
+    private void apply(JournalReader in) throws Exception {
+        int type = in.readByte();
+        switch (type) {
+            case REGISTER_MANAGER:
+                delegate.register(in.readString(), Job.MANAGER, in.readInt());
+                break;
+            case REGISTER_DEVELOPER:
+                delegate.register(in.readString(), in.readString(), Job.DEVELOPER, in.readInt());
+                break;
+            case CREATE_INHOUSE:
+                delegate.createProject(in.readString(), in.readString(), in.readString(), in.readInt());
+                break;
+            case CREATE_OUTSOURCED:
+                delegate.createProject(in.readString(), in.readString(), in.readString(), in.readString());
+                break;
+            case ADD_EMPLOYEE:
+                delegate.addEmployeeToProject(in.readString(), in.readString(), in.readString());
+                break;
+            case ADD_ARTEFACT: {
+                String owner = in.readString();
+                String name = in.readString();
+                int level = in.readInt();
+                String description = in.readString();
+                String id = in.readString();
+                LocalDate date = Dates.toLocalDate(in.readInt());
+                delegate.addArtefactToProject(delegate.createArtefact(owner, name, level, description, date), id, date);
+                break;
+            }
+            case ADD_REVISION: {
+                String username = in.readString();
+                String id = in.readString();
+                String artefactName = in.readString();
+                LocalDate date = Dates.toLocalDate(in.readInt());
+                delegate.addRevision(username, id, artefactName, date, in.readString());
+                break;
+            }
+            default:
+                throw new InvalidJournalException(fileName);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package ControlSystem;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class KeywordIterator<P extends Project> implements Iterator<P> {
+
+    private Iterator<P> it;
+    private int keyword;
+    // projeto atual e numero de vezes que ainda tem de ser devolvido
+    private P current;
+    private int remaining;
+
+    /**
+     * Construtor da class KeywordIterator (devolve cada projeto de um indice de uma keyword tantas vezes quantas a keyword
+     * aparece nas keywords do projeto, como quando cada ocorrencia era uma entrada da lista da keyword)
+     * @param it iterador com os projetos da keyword, cada um uma unica vez
+     * @param keyword simbolo da keyword
+     */
+    public KeywordIterator(Iterator<P> it, int keyword) {
+        this.it = it;
+        this.keyword = keyword;
+        this.current = null;
+        this.remaining = 0;
+    }
+
+    /**
+     * Verifica se ainda existem projetos por percorrer
+     * @return true se existirem projetos por percorrer / false caso contrario
+     */
+    @Override
+    public boolean hasNext() {
+        return remaining > 0 || it.hasNext();
+    }
+
+    /**
+     * Obtem o proximo projeto
+     * @return proximo projeto
+     */
+    @Override
+    public P next() {
+        if (remaining == 0) {
+            if (!it.hasNext())
+                throw new NoSuchElementException();
+            current = it.next();
+            for (int symbol : current.getKeywordSymbols()) {
+                if (symbol == keyword)
+                    remaining++;
+            }
+        }
+        remaining--;
+        return current;
+    }
+}
@@ -0,0 +1,102 @@
+package ControlSystem;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class LatencyHistogram {
+
+    // cada potencia de 2 e dividida em 2^SUB_BUCKET_BITS intervalos iguais (erro relativo maximo de cerca de 6%)
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int NUM_BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    // contadores atualizados sem locks: varias threads podem registar latencias ao mesmo tempo
+    private AtomicLongArray buckets;
+    private AtomicLong count;
+    private AtomicLong max;
+
+    /**
+     * Construtor da class LatencyHistogram (histograma log-linear de latencias em nanossegundos)
+     */
+    public LatencyHistogram() {
+        this.buckets = new AtomicLongArray(NUM_BUCKETS);
+        this.count = new AtomicLong();
+        this.max = new AtomicLong();
+    }
+
+    /**
+     * Regista uma latencia
+     * @param nanos latencia em nanossegundos
+     */
+    public void record(long nanos) {
+        if (nanos < 0)
+            nanos = 0;
+        buckets.incrementAndGet(bucket(nanos));
+        count.incrementAndGet();
+        long current = max.get();
+        while (nanos > current && !max.compareAndSet(current, nanos))
+            current = max.get();
+    }
+
+    /**
+     * Obtem o numero de latencias registadas
+     * @return numero de latencias registadas
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * Obtem a maior latencia registada
+     * @return maior latencia registada em nanossegundos
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Obtem um percentil das latencias registadas (o limite superior do intervalo onde o percentil cai)
+     * @param percentile percentil entre 0 e 100
+     * @return latencia do percentil em nanossegundos, ou 0 se nao houver latencias registadas
+     */
+    public long getPercentile(double percentile) {
+        long total = count.get();
+        if (total == 0)
+            return 0;
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank)
+                return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    /**
+     * Obtem o intervalo de uma latencia
+     * @param nanos latencia em nanossegundos (nao negativa)
+     * @return posicao do intervalo
+     */
+    private static int bucket(long nanos) {
+        if (nanos < SUB_BUCKETS)
+            return (int) nanos;
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(nanos);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int sub = (int) (nanos >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + sub;
+    }
+
+    /**
+     * Obtem a maior latencia que cabe num intervalo
+     * @param bucket posicao do intervalo
+     * @return maior latencia do intervalo em nanossegundos
+     */
+    private static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS)
+            return bucket;
+        int shift = bucket / SUB_BUCKETS - 1;
+        long sub = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        return ((sub + 1) << shift) - 1;
+    }
+}
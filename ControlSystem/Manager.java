@@ -30,12 +30,17 @@ public interface Manager extends Employee {
 
     /**
      * Verifica se um dado developer esta associado ao manager
-     * @param name nome do developer a ser pesquisado
+     * @param symbol simbolo do developer a ser pesquisado
      * @return true se o developer estiver associado ao manager / false caso contrario
      */
-    boolean hasDeveloper(String name);
+    boolean hasDeveloper(int symbol);
 
-    boolean hasManagedProject(String id);
+    /**
+     * Verifica se um dado projeto e gerido pelo manager
+     * @param symbol simbolo do projeto a ser pesquisado
+     * @return true se o projeto for gerido pelo manager / false caso contrario
+     */
+    boolean hasManagedProject(int symbol);
 
     /**
      * Lista os developers associados ao manager
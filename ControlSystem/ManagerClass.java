@@ -5,18 +5,25 @@ import java.util.*;
 public class ManagerClass extends EmployeeClass implements Manager {
 
     private SortedSet<Developer> developers;
-    private Map<String, Project> managedProjects;
+    // simbolos dos developers e dos projetos geridos (util para o hasDeveloper e o hasManagedProject)
+    private BitSet developerSymbols;
+    private BitSet managedProjects;
+    private int numManagedProjects;
 
     /**
      * Construtor da class ManagerClass
+     * @param store arquivo onde sao guardadas as revisoes
+     * @param symbol simbolo do manager
      * @param username nome do manager
      * @param job cargo manager
      * @param level nivel de acesso do manager
      */
-    public ManagerClass(String username, Job job, int level) {
-        super(username, job, level);
+    public ManagerClass(RevisionStore store, int symbol, String username, Job job, int level) {
+        super(store, symbol, username, job, level);
         this.developers = new TreeSet<>();
-        this.managedProjects = new HashMap<>();
+        this.developerSymbols = new BitSet();
+        this.managedProjects = new BitSet();
+        this.numManagedProjects = 0;
     }
 
     /**
@@ -26,6 +33,7 @@ public class ManagerClass extends EmployeeClass implements Manager {
     @Override
     public void addDeveloper(Developer developer) {
         developers.add(developer);
+        developerSymbols.set(developer.getSymbol());
     }
 
     /**
@@ -34,7 +42,10 @@ public class ManagerClass extends EmployeeClass implements Manager {
      */
     @Override
     public void addManagedProject(Project project) {
-        managedProjects.put(project.getId(), project);
+        if (!managedProjects.get(project.getSymbol())) {
+            managedProjects.set(project.getSymbol());
+            numManagedProjects++;
+        }
     }
 
     /**
@@ -52,30 +63,27 @@ public class ManagerClass extends EmployeeClass implements Manager {
      */
     @Override
     public int getNumManagedProjects() {
-        return managedProjects.size();
+        return numManagedProjects;
     }
 
     /**
      * Verifica se um dado developer esta associado ao manager
-     * @param name nome do developer a ser pesquisado
+     * @param symbol simbolo do developer a ser pesquisado
      * @return true se o developer estiver associado ao manager / false caso contrario
      */
     @Override
-    public boolean hasDeveloper(String name) {
-        for (Developer d : developers) {
-            if (d.getUsername().equals(name))
-                return true;
-        }
-        return false;
+    public boolean hasDeveloper(int symbol) {
+        return symbol != SymbolTable.NO_SYMBOL && developerSymbols.get(symbol);
     }
 
+    /**
+     * Verifica se um dado projeto e gerido pelo manager
+     * @param symbol simbolo do projeto a ser pesquisado
+     * @return true se o projeto for gerido pelo manager / false caso contrario
+     */
     @Override
-    public boolean hasManagedProject(String id) {
-        for (Project project : managedProjects.values()) {
-            if (project.getId().equals(id))
-                return true;
-        }
-        return false;
+    public boolean hasManagedProject(int symbol) {
+        return symbol != SymbolTable.NO_SYMBOL && managedProjects.get(symbol);
     }
 
     /**
@@ -84,6 +92,6 @@ public class ManagerClass extends EmployeeClass implements Manager {
      */
     @Override
     public Iterator<Developer> listDevelopers() {
-        return developers.iterator();
+        return Collections.unmodifiableSortedSet(developers).iterator();
     }
 }
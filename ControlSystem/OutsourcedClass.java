@@ -6,13 +6,15 @@ public class OutsourcedClass extends ProjectClass implements Outsourced {
 
     /**
      * Construtor da class OutsourcedClass
+     * @param symbol simbolo do projeto
      * @param id id do projeto
      * @param manager dono do projeto
      * @param keywords descricao do projeto
+     * @param keywordSymbols simbolos das keywords do projeto
      * @param company nome da companhia a qual o projeto pertence
      */
-    public OutsourcedClass(String id, Manager manager, String keywords, String company) {
-        super(id, manager, keywords);
+    public OutsourcedClass(int symbol, String id, Manager manager, String keywords, int[] keywordSymbols, String company) {
+        super(symbol, id, manager, keywords, keywordSymbols);
         this.company = company;
     }
 
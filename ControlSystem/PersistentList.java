@@ -0,0 +1,83 @@
+package ControlSystem;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+public class PersistentList<E> implements Iterable<E> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // as posicoes ate size nunca mais sao alteradas; as seguintes so sao escritas pela proxima versao, que partilha o array
+    private final Object[] elements;
+    private final int size;
+
+    /**
+     * Construtor da class PersistentList (lista imutavel que so cresce no fim; add devolve uma nova versao e as versoes
+     * antigas continuam validas, desde que so se acrescente a versao mais recente)
+     */
+    public PersistentList() {
+        this(new Object[INITIAL_CAPACITY], 0);
+    }
+
+    /**
+     * Construtor de uma versao da lista
+     * @param elements array partilhado com as outras versoes
+     * @param size numero de elementos desta versao
+     */
+    private PersistentList(Object[] elements, int size) {
+        this.elements = elements;
+        this.size = size;
+    }
+
+    /**
+     * Obtem a versao da lista com mais um elemento no fim
+     * @param value elemento a ser adicionado
+     * @return nova versao da lista
+     */
+    public PersistentList<E> add(E value) {
+        Object[] next = size < elements.length ? elements : Arrays.copyOf(elements, size * 2);
+        next[size] = value;
+        return new PersistentList<>(next, size + 1);
+    }
+
+    /**
+     * Obtem o elemento numa dada posicao
+     * @param index posicao do elemento
+     * @return elemento na dada posicao
+     */
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        if (index < 0 || index >= size)
+            throw new IndexOutOfBoundsException(index);
+        return (E) elements[index];
+    }
+
+    /**
+     * Verifica se a lista e vazia
+     * @return true se a lista for vazia / false caso contrario
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Obtem o numero de elementos da lista
+     * @return numero de elementos da lista
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Lista os elementos desta versao da lista, pela ordem em que foram adicionados
+     * @return iterador com os elementos da lista
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        List<E> view = (List<E>) Arrays.asList(elements).subList(0, size);
+        return Collections.unmodifiableList(view).iterator();
+    }
+}
@@ -0,0 +1,229 @@
+package ControlSystem;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+public class PersistentSortedSet<E> implements Iterable<E> {
+
+    private final Comparator<? super E> comparator;
+    private final PersistentTreeNode<E> root;
+
+    /**
+     * Construtor da class PersistentSortedSet (conjunto ordenado imutavel: add e remove devolvem uma nova versao que
+     * partilha com a anterior todos os nos fora do caminho alterado, e as versoes antigas continuam validas)
+     * @param comparator ordem dos elementos
+     */
+    public PersistentSortedSet(Comparator<? super E> comparator) {
+        this(comparator, (PersistentTreeNode<E>) null);
+    }
+
+    /**
+     * Construtor de um conjunto com elementos ja ordenados e distintos (constroi a arvore equilibrada em tempo linear, sem
+     * comparar os elementos)
+     * @param comparator ordem dos elementos
+     * @param sorted elementos ordenados pelo comparator, sem repetidos
+     */
+    public PersistentSortedSet(Comparator<? super E> comparator, E[] sorted) {
+        this(comparator, build(sorted, 0, sorted.length));
+    }
+
+    /**
+     * Construtor de uma versao do conjunto com uma dada raiz
+     * @param comparator ordem dos elementos
+     * @param root raiz da arvore, ou null se o conjunto for vazio
+     */
+    private PersistentSortedSet(Comparator<? super E> comparator, PersistentTreeNode<E> root) {
+        this.comparator = comparator;
+        this.root = root;
+    }
+
+    /**
+     * Obtem a versao do conjunto com mais um elemento
+     * @param value elemento a ser adicionado
+     * @return nova versao do conjunto, ou este conjunto se ja tiver o elemento
+     */
+    public PersistentSortedSet<E> add(E value) {
+        PersistentTreeNode<E> added = insert(root, value);
+        return added == root ? this : new PersistentSortedSet<>(comparator, added);
+    }
+
+    /**
+     * Obtem a versao do conjunto sem um elemento
+     * @param value elemento a ser retirado
+     * @return nova versao do conjunto, ou este conjunto se nao tiver o elemento
+     */
+    public PersistentSortedSet<E> remove(E value) {
+        PersistentTreeNode<E> removed = delete(root, value);
+        return removed == root ? this : new PersistentSortedSet<>(comparator, removed);
+    }
+
+    /**
+     * Obtem a versao do conjunto em que um grupo de elementos ja alterados (e por isso so reconhecidos pela identidade,
+     * pois ja nao estao na sua posicao) passa para a sua nova posicao, entrando os que ainda nao estavam no conjunto;
+     * reconstroi a arvore de uma vez, em tempo linear no tamanho do conjunto, o que compensa quando o grupo e grande
+     * @param changed elementos alterados, sem repetidos
+     * @return nova versao do conjunto
+     */
+    @SuppressWarnings("unchecked")
+    public PersistentSortedSet<E> reposition(Collection<E> changed) {
+        E[] moved = (E[]) changed.toArray();
+        Arrays.parallelSort(moved, comparator);
+        Set<E> skipped = Collections.newSetFromMap(new IdentityHashMap<>(moved.length * 2));
+        Collections.addAll(skipped, moved);
+
+        // o iterador segue a estrutura da arvore sem comparar, por isso os elementos alterados nao o afetam
+        E[] sorted = (E[]) new Object[size() + moved.length];
+        int size = 0;
+        int next = 0;
+        for (E value : this) {
+            if (skipped.contains(value))
+                continue;
+            while (next < moved.length && comparator.compare(moved[next], value) < 0)
+                sorted[size++] = moved[next++];
+            sorted[size++] = value;
+        }
+        while (next < moved.length)
+            sorted[size++] = moved[next++];
+        return new PersistentSortedSet<>(comparator, build(sorted, 0, size));
+    }
+
+    /**
+     * Verifica se o conjunto e vazio
+     * @return true se o conjunto for vazio / false caso contrario
+     */
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    /**
+     * Obtem o numero de elementos do conjunto
+     * @return numero de elementos do conjunto
+     */
+    public int size() {
+        return PersistentTreeNode.size(root);
+    }
+
+    /**
+     * Obtem o menor elemento do conjunto
+     * @return menor elemento do conjunto
+     * @throws NoSuchElementException se o conjunto for vazio
+     */
+    public E first() {
+        if (root == null)
+            throw new NoSuchElementException();
+        PersistentTreeNode<E> node = root;
+        while (node.getLeft() != null)
+            node = node.getLeft();
+        return node.getValue();
+    }
+
+    /**
+     * Lista os elementos desta versao do conjunto, por ordem (nao e afetado pelas versoes seguintes)
+     * @return iterador com os elementos do conjunto
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new PersistentSortedSetIterator<>(root);
+    }
+
+    /**
+     * Constroi uma arvore equilibrada com uma parte de um array ordenado
+     * @param sorted elementos ordenados
+     * @param from posicao do primeiro elemento
+     * @param to posicao a seguir ao ultimo elemento
+     * @return raiz da arvore, ou null se a parte for vazia
+     */
+    private static <E> PersistentTreeNode<E> build(E[] sorted, int from, int to) {
+        if (from >= to)
+            return null;
+        int middle = (from + to) >>> 1;
+        return new PersistentTreeNode<>(sorted[middle], build(sorted, from, middle), build(sorted, middle + 1, to));
+    }
+
+    /**
+     * Insere um elemento numa subarvore, copiando so os nos do caminho ate a posicao do elemento
+     * @param node raiz da subarvore, ou null
+     * @param value elemento a ser inserido
+     * @return raiz da nova subarvore, ou a mesma raiz se ja tiver o elemento
+     */
+    private PersistentTreeNode<E> insert(PersistentTreeNode<E> node, E value) {
+        if (node == null)
+            return new PersistentTreeNode<>(value, null, null);
+        int cmp = comparator.compare(value, node.getValue());
+        if (cmp < 0) {
+            PersistentTreeNode<E> left = insert(node.getLeft(), value);
+            return left == node.getLeft() ? node : balance(node.getValue(), left, node.getRight());
+        } else if (cmp > 0) {
+            PersistentTreeNode<E> right = insert(node.getRight(), value);
+            return right == node.getRight() ? node : balance(node.getValue(), node.getLeft(), right);
+        }
+        return node;
+    }
+
+    /**
+     * Retira um elemento de uma subarvore, copiando so os nos do caminho ate ao elemento
+     * @param node raiz da subarvore, ou null
+     * @param value elemento a ser retirado
+     * @return raiz da nova subarvore, ou a mesma raiz se nao tiver o elemento
+     */
+    private PersistentTreeNode<E> delete(PersistentTreeNode<E> node, E value) {
+        if (node == null)
+            return null;
+        int cmp = comparator.compare(value, node.getValue());
+        if (cmp < 0) {
+            PersistentTreeNode<E> left = delete(node.getLeft(), value);
+            return left == node.getLeft() ? node : balance(node.getValue(), left, node.getRight());
+        } else if (cmp > 0) {
+            PersistentTreeNode<E> right = delete(node.getRight(), value);
+            return right == node.getRight() ? node : balance(node.getValue(), node.getLeft(), right);
+        }
+        if (node.getLeft() == null)
+            return node.getRight();
+        if (node.getRight() == null)
+            return node.getLeft();
+        PersistentTreeNode<E> successor = node.getRight();
+        while (successor.getLeft() != null)
+            successor = successor.getLeft();
+        return balance(successor.getValue(), node.getLeft(), deleteFirst(node.getRight()));
+    }
+
+    /**
+     * Retira o menor elemento de uma subarvore nao vazia
+     * @param node raiz da subarvore
+     * @return raiz da nova subarvore
+     */
+    private PersistentTreeNode<E> deleteFirst(PersistentTreeNode<E> node) {
+        if (node.getLeft() == null)
+            return node.getRight();
+        return balance(node.getValue(), deleteFirst(node.getLeft()), node.getRight());
+    }
+
+    /**
+     * Cria um no, fazendo as rotacoes AVL necessarias para que as alturas das subarvores difiram no maximo de 1
+     * @param value elemento do no
+     * @param left subarvore esquerda (equilibrada)
+     * @param right subarvore direita (equilibrada)
+     * @return raiz da subarvore equilibrada
+     */
+    private PersistentTreeNode<E> balance(E value, PersistentTreeNode<E> left, PersistentTreeNode<E> right) {
+        int difference = PersistentTreeNode.height(left) - PersistentTreeNode.height(right);
+        if (difference > 1) {
+            if (PersistentTreeNode.height(left.getLeft()) >= PersistentTreeNode.height(left.getRight()))
+                return new PersistentTreeNode<>(left.getValue(), left.getLeft(), new PersistentTreeNode<>(value, left.getRight(), right));
+            PersistentTreeNode<E> middle = left.getRight();
+            return new PersistentTreeNode<>(middle.getValue(), new PersistentTreeNode<>(left.getValue(), left.getLeft(), middle.getLeft()), new PersistentTreeNode<>(value, middle.getRight(), right));
+        } else if (difference < -1) {
+            if (PersistentTreeNode.height(right.getRight()) >= PersistentTreeNode.height(right.getLeft()))
+                return new PersistentTreeNode<>(right.getValue(), new PersistentTreeNode<>(value, left, right.getLeft()), right.getRight());
+            PersistentTreeNode<E> middle = right.getLeft();
+            return new PersistentTreeNode<>(middle.getValue(), new PersistentTreeNode<>(value, left, middle.getLeft()), new PersistentTreeNode<>(right.getValue(), middle.getRight(), right.getRight()));
+        }
+        return new PersistentTreeNode<>(value, left, right);
+    }
+}
@@ -0,0 +1,54 @@
+package ControlSystem;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class PersistentSortedSetIterator<E> implements Iterator<E> {
+
+    // nos cujo elemento ainda nao foi devolvido e cuja subarvore direita ainda nao foi percorrida
+    private Deque<PersistentTreeNode<E>> path;
+
+    /**
+     * Construtor da class PersistentSortedSetIterator (percorre por ordem uma versao de um PersistentSortedSet)
+     * @param root raiz da arvore, ou null se for vazia
+     */
+    public PersistentSortedSetIterator(PersistentTreeNode<E> root) {
+        this.path = new ArrayDeque<>();
+        descend(root);
+    }
+
+    /**
+     * Verifica se ainda existem elementos por listar
+     * @return true se existirem elementos por listar / false caso contrario
+     */
+    @Override
+    public boolean hasNext() {
+        return !path.isEmpty();
+    }
+
+    /**
+     * Obtem o proximo elemento
+     * @return proximo elemento
+     */
+    @Override
+    public E next() {
+        if (path.isEmpty())
+            throw new NoSuchElementException();
+        PersistentTreeNode<E> node = path.pop();
+        descend(node.getRight());
+        return node.getValue();
+    }
+
+    /**
+     * Guarda o caminho ate ao menor elemento de uma subarvore
+     * @param node raiz da subarvore, ou null
+     */
+    private void descend(PersistentTreeNode<E> node) {
+        while (node != null) {
+            path.push(node);
+            node = node.getLeft();
+        }
+    }
+}
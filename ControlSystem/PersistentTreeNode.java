@@ -0,0 +1,67 @@
+package ControlSystem;
+
+public class PersistentTreeNode<E> {
+
+    // um no nunca e alterado depois de criado, por isso pode pertencer a varias versoes da mesma arvore
+    private final E value;
+    private final PersistentTreeNode<E> left;
+    private final PersistentTreeNode<E> right;
+    private final int height;
+    private final int size;
+
+    /**
+     * Construtor da class PersistentTreeNode (no imutavel de uma arvore AVL)
+     * @param value elemento do no
+     * @param left subarvore com os elementos menores, ou null se nao existir
+     * @param right subarvore com os elementos maiores, ou null se nao existir
+     */
+    public PersistentTreeNode(E value, PersistentTreeNode<E> left, PersistentTreeNode<E> right) {
+        this.value = value;
+        this.left = left;
+        this.right = right;
+        this.height = Math.max(height(left), height(right)) + 1;
+        this.size = size(left) + size(right) + 1;
+    }
+
+    /**
+     * Obtem o elemento do no
+     * @return elemento do no
+     */
+    public E getValue() {
+        return value;
+    }
+
+    /**
+     * Obtem a subarvore com os elementos menores
+     * @return subarvore esquerda, ou null se nao existir
+     */
+    public PersistentTreeNode<E> getLeft() {
+        return left;
+    }
+
+    /**
+     * Obtem a subarvore com os elementos maiores
+     * @return subarvore direita, ou null se nao existir
+     */
+    public PersistentTreeNode<E> getRight() {
+        return right;
+    }
+
+    /**
+     * Obtem a altura de uma subarvore
+     * @param node raiz da subarvore, ou null
+     * @return altura da subarvore (0 se for vazia)
+     */
+    public static int height(PersistentTreeNode<?> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    /**
+     * Obtem o numero de elementos de uma subarvore
+     * @param node raiz da subarvore, ou null
+     * @return numero de elementos da subarvore (0 se for vazia)
+     */
+    public static int size(PersistentTreeNode<?> node) {
+        return node == null ? 0 : node.size;
+    }
+}
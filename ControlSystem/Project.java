@@ -8,12 +8,24 @@ public interface Project {
      */
     String getId();
 
+    /**
+     * Obtem o simbolo do projeto (identificador inteiro atribuido na criacao)
+     * @return simbolo do projeto
+     */
+    int getSymbol();
+
     /**
      * Obtem as keywords do projeto
      * @return keywords do projeto
      */
     String getKeywords();
 
+    /**
+     * Obtem os simbolos das keywords do projeto
+     * @return array com os simbolos das keywords do projeto
+     */
+    int[] getKeywordSymbols();
+
     /**
      * Obtem o manager do projeto
      * @return manager do projeto
@@ -3,19 +3,25 @@ package ControlSystem;
 public abstract class ProjectClass implements Project {
 
     private String id;
+    private int symbol;
     private Manager manager;
     private String keywords;
+    private int[] keywordSymbols;
 
     /**
      * Construtor da class ProjectClass
+     * @param symbol simbolo do projeto
      * @param id id do projeto
      * @param manager dono do projeto
      * @param keywords descricao do projeto
+     * @param keywordSymbols simbolos das keywords do projeto
      */
-    public ProjectClass(String id, Manager manager, String keywords) {
+    public ProjectClass(int symbol, String id, Manager manager, String keywords, int[] keywordSymbols) {
+        this.symbol = symbol;
         this.id = id;
         this.manager = manager;
         this.keywords = keywords;
+        this.keywordSymbols = keywordSymbols;
     }
 
     /**
@@ -27,6 +33,15 @@ public abstract class ProjectClass implements Project {
         return id;
     }
 
+    /**
+     * Obtem o simbolo do projeto (identificador inteiro atribuido na criacao)
+     * @return simbolo do projeto
+     */
+    @Override
+    public int getSymbol() {
+        return symbol;
+    }
+
     /**
      * Obtem as keywords do projeto
      * @return keywords do projeto
@@ -36,6 +51,15 @@ public abstract class ProjectClass implements Project {
         return keywords;
     }
 
+    /**
+     * Obtem os simbolos das keywords do projeto
+     * @return array com os simbolos das keywords do projeto
+     */
+    @Override
+    public int[] getKeywordSymbols() {
+        return keywordSymbols;
+    }
+
     /**
      * Obtem o dono do projeto
      * @return dono do projeto
@@ -40,6 +40,12 @@ public interface Revision extends Comparable<Revision> {
      */
     LocalDate getDate();
 
+    /**
+     * Obtem a data da revisao como numero de dias desde 01-01-1970
+     * @return numero de dias desde 01-01-1970 da data da revisao
+     */
+    int getEpochDay();
+
     /**
      * Obtem o numero da revisao
      * @return numero da revisao
@@ -1,33 +1,21 @@
 package ControlSystem;
 
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 
 public class RevisionClass implements Revision, Comparable<Revision> {
 
-    private static final String WRITE_DATE_FORMAT = "dd-MM-yyyy";
-
-    private int number;
-    private String owner;
-    private LocalDate date;
-    private String comment;
-    private String artefactName;
-    private String projectName;
+    // a revisao nao guarda os seus dados: e uma vista sobre uma posicao do arquivo de revisoes
+    private RevisionStore store;
+    private int index;
 
     /**
      * Construtor da class RevisionClass
-     * @param number numero da revisao
-     * @param owner dono da revisao
-     * @param date data da revisao
-     * @param comment comentario da revisao
+     * @param store arquivo de revisoes onde a revisao esta guardada
+     * @param index posicao da revisao no arquivo
      */
-    public RevisionClass(int number, String owner, LocalDate date, String comment, String artefactName, String projectName) {
-        this.number = number;
-        this.owner = owner;
-        this.date = date;
-        this.comment = comment;
-        this.artefactName = artefactName;
-        this.projectName = projectName;
+    public RevisionClass(RevisionStore store, int index) {
+        this.store = store;
+        this.index = index;
     }
 
     /**
@@ -36,7 +24,7 @@ public class RevisionClass implements Revision, Comparable<Revision> {
      */
     @Override
     public String getOwner() {
-        return owner;
+        return store.getOwner(index);
     }
 
     /**
@@ -45,7 +33,7 @@ public class RevisionClass implements Revision, Comparable<Revision> {
      */
     @Override
     public String getComment() {
-        return comment;
+        return store.getComment(index);
     }
 
     /**
@@ -54,7 +42,7 @@ public class RevisionClass implements Revision, Comparable<Revision> {
      */
     @Override
     public String getArtefact() {
-        return artefactName;
+        return store.getArtefact(index);
     }
 
     /**
@@ -63,7 +51,7 @@ public class RevisionClass implements Revision, Comparable<Revision> {
      */
     @Override
     public String getProject() {
-        return projectName;
+        return store.getProject(index);
     }
 
     /**
@@ -72,8 +60,7 @@ public class RevisionClass implements Revision, Comparable<Revision> {
      */
     @Override
     public String getDateAsString() {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(WRITE_DATE_FORMAT);
-        return formatter.format(date);
+        return Dates.format(store.getEpochDay(index));
     }
 
     /**
@@ -82,7 +69,16 @@ public class RevisionClass implements Revision, Comparable<Revision> {
      */
     @Override
     public LocalDate getDate() {
-        return date;
+        return Dates.toLocalDate(store.getEpochDay(index));
+    }
+
+    /**
+     * Obtem a data da revisao como numero de dias desde 01-01-1970
+     * @return numero de dias desde 01-01-1970 da data da revisao
+     */
+    @Override
+    public int getEpochDay() {
+        return store.getEpochDay(index);
     }
 
     /**
@@ -91,7 +87,7 @@ public class RevisionClass implements Revision, Comparable<Revision> {
      */
     @Override
     public int getNumber() {
-        return number;
+        return store.getNumber(index);
     }
 
     /**
@@ -101,9 +97,9 @@ public class RevisionClass implements Revision, Comparable<Revision> {
      */
     @Override
     public int compareTo(Revision revision) {
-        if (number > revision.getNumber())
+        if (getNumber() > revision.getNumber())
             return -1;
-        else if (number < revision.getNumber())
+        else if (getNumber() < revision.getNumber())
             return 1;
         return 0;
     }
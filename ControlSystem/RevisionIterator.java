@@ -0,0 +1,46 @@
+package ControlSystem;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+public class RevisionIterator implements Iterator<Revision> {
+
+    private RevisionStore store;
+    private IntList revisions;
+    private int first;
+    private int current;
+
+    /**
+     * Construtor da class RevisionIterator (percorre uma lista de posicoes do arquivo de revisoes do fim para o inicio)
+     * @param store arquivo de revisoes
+     * @param revisions posicoes das revisoes no arquivo
+     * @param from primeira posicao da lista a percorrer
+     * @param to posicao da lista a seguir a ultima a percorrer
+     */
+    public RevisionIterator(RevisionStore store, IntList revisions, int from, int to) {
+        this.store = store;
+        this.revisions = revisions;
+        this.first = from;
+        this.current = to - 1;
+    }
+
+    /**
+     * Verifica se ainda existem revisoes por percorrer
+     * @return true se existirem revisoes por percorrer / false caso contrario
+     */
+    @Override
+    public boolean hasNext() {
+        return current >= first;
+    }
+
+    /**
+     * Obtem a proxima revisao (a anterior na lista)
+     * @return proxima revisao
+     */
+    @Override
+    public Revision next() {
+        if (current < first)
+            throw new NoSuchElementException();
+        return store.getRevision(revisions.get(current--));
+    }
+}
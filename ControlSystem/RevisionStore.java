@@ -0,0 +1,111 @@
+package ControlSystem;
+
+import IO.SnapshotReader;
+import IO.SnapshotWriter;
+
+import java.io.IOException;
+
+public interface RevisionStore {
+
+    /**
+     * Adiciona uma revisao no arquivo
+     * @param number numero da revisao
+     * @param owner simbolo do dono da revisao
+     * @param date data da revisao (numero de dias desde 01-01-1970)
+     * @param comment comentario da revisao
+     * @param artefact simbolo do artefacto da revisao
+     * @param project simbolo do projeto da revisao
+     * @return posicao da revisao no arquivo
+     */
+    int addRevision(int number, int owner, int date, String comment, int artefact, int project);
+
+    /**
+     * Obtem o numero de revisoes no arquivo
+     * @return numero de revisoes no arquivo
+     */
+    int size();
+
+    /**
+     * Escreve as colunas do arquivo num snapshot (cada coluna num bloco, e os comentarios seguidos em UTF-16)
+     * @param out snapshot onde escrever as colunas
+     * @throws IOException
+     */
+    void save(SnapshotWriter out) throws IOException;
+
+    /**
+     * Le de um snapshot as colunas escritas com save, copiando-as em bloco para um arquivo vazio
+     * @param in snapshot de onde ler as colunas
+     * @throws IOException
+     */
+    void load(SnapshotReader in) throws IOException;
+
+    /**
+     * Obtem a revisao numa dada posicao do arquivo
+     * @param revision posicao da revisao no arquivo
+     * @return revisao na dada posicao
+     */
+    Revision getRevision(int revision);
+
+    /**
+     * Obtem o numero de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return numero da revisao
+     */
+    int getNumber(int revision);
+
+    /**
+     * Obtem a data de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return numero de dias desde 01-01-1970 da data da revisao
+     */
+    int getEpochDay(int revision);
+
+    /**
+     * Obtem o nome do dono de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return nome do dono da revisao
+     */
+    String getOwner(int revision);
+
+    /**
+     * Obtem o simbolo do dono de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return simbolo do dono da revisao
+     */
+    int getOwnerSymbol(int revision);
+
+    /**
+     * Obtem o comentario de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return comentario da revisao
+     */
+    String getComment(int revision);
+
+    /**
+     * Obtem o nome do artefacto de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return nome do artefacto da revisao
+     */
+    String getArtefact(int revision);
+
+    /**
+     * Obtem o simbolo do artefacto de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return simbolo do artefacto da revisao
+     */
+    int getArtefactSymbol(int revision);
+
+    /**
+     * Obtem o nome do projeto de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return nome do projeto da revisao
+     */
+    String getProject(int revision);
+
+    /**
+     * Obtem o simbolo do projeto de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return simbolo do projeto da revisao
+     */
+    int getProjectSymbol(int revision);
+}
@@ -0,0 +1,333 @@
+package ControlSystem;
+
+import IO.SnapshotReader;
+import IO.SnapshotWriter;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+
+public class RevisionStoreClass implements RevisionStore {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    // maior tamanho de um array (as colunas sao indexadas por int)
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    // os comentarios sao guardados seguidos em paginas de 2^PAGE_BITS chars, e um comentario pode continuar na pagina
+    // seguinte: o texto total so esta limitado pelos offsets long e nunca e copiado quando o arquivo cresce
+    private static final int PAGE_BITS = 16;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    // colunas das revisoes: a revisao i ocupa a posicao i de cada array
+    private int[] numbers;
+    private int[] dates;
+    private int[] owners;
+    private int[] artefacts;
+    private int[] projects;
+    // o comentario da revisao i ocupa os chars commentOffsets[i] .. commentOffsets[i + 1] das paginas
+    private long[] commentOffsets;
+    private char[][] commentPages;
+    private int numPages;
+    private int size;
+
+    // tabelas de simbolos do sistema, usadas para obter os nomes dos donos, artefactos e projetos
+    private SymbolTable userSymbols;
+    private SymbolTable artefactSymbols;
+    private SymbolTable projectSymbols;
+
+    /**
+     * Construtor da class RevisionStoreClass (guarda as revisoes em arrays primitivos paralelos)
+     * @param userSymbols tabela de simbolos dos employees
+     * @param artefactSymbols tabela de simbolos dos artefactos
+     * @param projectSymbols tabela de simbolos dos projetos
+     */
+    public RevisionStoreClass(SymbolTable userSymbols, SymbolTable artefactSymbols, SymbolTable projectSymbols) {
+        this.numbers = new int[INITIAL_CAPACITY];
+        this.dates = new int[INITIAL_CAPACITY];
+        this.owners = new int[INITIAL_CAPACITY];
+        this.artefacts = new int[INITIAL_CAPACITY];
+        this.projects = new int[INITIAL_CAPACITY];
+        this.commentOffsets = new long[INITIAL_CAPACITY + 1];
+        this.commentPages = new char[1][];
+        this.numPages = 0;
+        this.size = 0;
+        this.userSymbols = userSymbols;
+        this.artefactSymbols = artefactSymbols;
+        this.projectSymbols = projectSymbols;
+    }
+
+    /**
+     * Adiciona uma revisao no arquivo
+     * @param number numero da revisao
+     * @param owner simbolo do dono da revisao
+     * @param date data da revisao (numero de dias desde 01-01-1970)
+     * @param comment comentario da revisao
+     * @param artefact simbolo do artefacto da revisao
+     * @param project simbolo do projeto da revisao
+     * @return posicao da revisao no arquivo
+     * @throws IllegalStateException se o arquivo ja tiver o maior numero de revisoes ou de chars de comentarios possivel
+     */
+    @Override
+    public int addRevision(int number, int owner, int date, String comment, int artefact, int project) {
+        if (size == numbers.length)
+            grow();
+        long start = commentOffsets[size];
+        ensurePages(start + comment.length());
+        long position = start;
+        int copied = 0;
+        while (copied < comment.length()) {
+            int offset = (int) (position & PAGE_MASK);
+            int length = Math.min(comment.length() - copied, PAGE_SIZE - offset);
+            comment.getChars(copied, copied + length, commentPages[(int) (position >>> PAGE_BITS)], offset);
+            copied += length;
+            position += length;
+        }
+
+        numbers[size] = number;
+        dates[size] = date;
+        owners[size] = owner;
+        artefacts[size] = artefact;
+        projects[size] = project;
+        commentOffsets[size + 1] = start + comment.length();
+        return size++;
+    }
+
+    /**
+     * Obtem o numero de revisoes no arquivo
+     * @return numero de revisoes no arquivo
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Escreve as colunas do arquivo num snapshot (cada coluna num bloco, e os comentarios seguidos em UTF-16)
+     * @param out snapshot onde escrever as colunas
+     * @throws IOException
+     */
+    @Override
+    public void save(SnapshotWriter out) throws IOException {
+        out.writeInt(size);
+        out.writeInts(numbers, 0, size);
+        out.writeInts(dates, 0, size);
+        out.writeInts(owners, 0, size);
+        out.writeInts(artefacts, 0, size);
+        out.writeInts(projects, 0, size);
+        int[] lengths = new int[size];
+        for (int i = 0; i < size; i++)
+            lengths[i] = (int) (commentOffsets[i + 1] - commentOffsets[i]);
+        out.writeInts(lengths, 0, size);
+        long remaining = commentOffsets[size];
+        for (int page = 0; remaining > 0; page++) {
+            int length = (int) Math.min(remaining, PAGE_SIZE);
+            out.writeChars(commentPages[page], 0, length);
+            remaining -= length;
+        }
+    }
+
+    /**
+     * Le de um snapshot as colunas escritas com save, copiando-as em bloco para um arquivo vazio
+     * @param in snapshot de onde ler as colunas
+     * @throws IOException
+     * @throws IllegalStateException se o arquivo ja tiver revisoes
+     */
+    @Override
+    public void load(SnapshotReader in) throws IOException {
+        if (size != 0)
+            throw new IllegalStateException("Revisions can only be loaded into an empty store");
+        // cada revisao ocupa seis inteiros: cinco colunas e o tamanho do comentario
+        int count = in.readLength(6 * Integer.BYTES);
+        if (count > MAX_CAPACITY)
+            throw new IOException("Too many revisions " + count);
+        int capacity = Math.max(count, INITIAL_CAPACITY);
+        numbers = readColumn(in, count, capacity);
+        dates = readColumn(in, count, capacity);
+        owners = readColumn(in, count, capacity);
+        artefacts = readColumn(in, count, capacity);
+        projects = readColumn(in, count, capacity);
+
+        int[] lengths = new int[count];
+        in.readInts(lengths, 0, count);
+        commentOffsets = new long[capacity + 1];
+        for (int i = 0; i < count; i++) {
+            if (lengths[i] < 0)
+                throw new IOException("Negative comment length " + lengths[i]);
+            commentOffsets[i + 1] = commentOffsets[i] + lengths[i];
+        }
+        long remaining = commentOffsets[count];
+        if (remaining * Character.BYTES > in.remaining())
+            throw new EOFException();
+        ensurePages(remaining);
+        for (int page = 0; remaining > 0; page++) {
+            int length = (int) Math.min(remaining, PAGE_SIZE);
+            in.readChars(commentPages[page], 0, length);
+            remaining -= length;
+        }
+        size = count;
+    }
+
+    /**
+     * Le uma coluna do arquivo de um snapshot
+     * @param in snapshot de onde ler a coluna
+     * @param count numero de revisoes da coluna
+     * @param capacity tamanho do array da coluna
+     * @return array com a coluna lida nas primeiras count posicoes
+     * @throws IOException
+     */
+    private static int[] readColumn(SnapshotReader in, int count, int capacity) throws IOException {
+        int[] column = new int[capacity];
+        in.readInts(column, 0, count);
+        return column;
+    }
+
+    /**
+     * Obtem a revisao numa dada posicao do arquivo
+     * @param revision posicao da revisao no arquivo
+     * @return revisao na dada posicao
+     */
+    @Override
+    public Revision getRevision(int revision) {
+        return new RevisionClass(this, revision);
+    }
+
+    /**
+     * Obtem o numero de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return numero da revisao
+     */
+    @Override
+    public int getNumber(int revision) {
+        return numbers[revision];
+    }
+
+    /**
+     * Obtem a data de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return numero de dias desde 01-01-1970 da data da revisao
+     */
+    @Override
+    public int getEpochDay(int revision) {
+        return dates[revision];
+    }
+
+    /**
+     * Obtem o nome do dono de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return nome do dono da revisao
+     */
+    @Override
+    public String getOwner(int revision) {
+        return userSymbols.resolve(owners[revision]);
+    }
+
+    /**
+     * Obtem o simbolo do dono de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return simbolo do dono da revisao
+     */
+    @Override
+    public int getOwnerSymbol(int revision) {
+        return owners[revision];
+    }
+
+    /**
+     * Obtem o comentario de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return comentario da revisao
+     */
+    @Override
+    public String getComment(int revision) {
+        long start = commentOffsets[revision];
+        int length = (int) (commentOffsets[revision + 1] - start);
+        int offset = (int) (start & PAGE_MASK);
+        char[] page = length == 0 ? null : commentPages[(int) (start >>> PAGE_BITS)];
+        if (offset + length <= PAGE_SIZE)
+            return length == 0 ? "" : new String(page, offset, length);
+
+        // o comentario continua nas paginas seguintes
+        char[] comment = new char[length];
+        long position = start;
+        int copied = 0;
+        while (copied < length) {
+            offset = (int) (position & PAGE_MASK);
+            int part = Math.min(length - copied, PAGE_SIZE - offset);
+            System.arraycopy(commentPages[(int) (position >>> PAGE_BITS)], offset, comment, copied, part);
+            copied += part;
+            position += part;
+        }
+        return new String(comment);
+    }
+
+    /**
+     * Obtem o nome do artefacto de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return nome do artefacto da revisao
+     */
+    @Override
+    public String getArtefact(int revision) {
+        return artefactSymbols.resolve(artefacts[revision]);
+    }
+
+    /**
+     * Obtem o simbolo do artefacto de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return simbolo do artefacto da revisao
+     */
+    @Override
+    public int getArtefactSymbol(int revision) {
+        return artefacts[revision];
+    }
+
+    /**
+     * Obtem o nome do projeto de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return nome do projeto da revisao
+     */
+    @Override
+    public String getProject(int revision) {
+        return projectSymbols.resolve(projects[revision]);
+    }
+
+    /**
+     * Obtem o simbolo do projeto de uma revisao
+     * @param revision posicao da revisao no arquivo
+     * @return simbolo do projeto da revisao
+     */
+    @Override
+    public int getProjectSymbol(int revision) {
+        return projects[revision];
+    }
+
+    /**
+     * Duplica a capacidade das colunas do arquivo (ate ao maior tamanho de um array)
+     * @throws IllegalStateException se as colunas ja tiverem o maior tamanho possivel
+     */
+    private void grow() {
+        if (numbers.length >= MAX_CAPACITY)
+            throw new IllegalStateException("The revision store is full");
+        int capacity = (int) Math.min(numbers.length * 2L, MAX_CAPACITY);
+        numbers = Arrays.copyOf(numbers, capacity);
+        dates = Arrays.copyOf(dates, capacity);
+        owners = Arrays.copyOf(owners, capacity);
+        artefacts = Arrays.copyOf(artefacts, capacity);
+        projects = Arrays.copyOf(projects, capacity);
+        commentOffsets = Arrays.copyOf(commentOffsets, capacity + 1);
+    }
+
+    /**
+     * Garante que as paginas dos comentarios chegam a uma dada posicao, criando as paginas que faltam (as paginas
+     * existentes nunca sao copiadas, so o array com as referencias para elas)
+     * @param end posicao a seguir ao ultimo char a ser escrito
+     * @throws IllegalStateException se forem precisas mais paginas do que cabem num array
+     */
+    private void ensurePages(long end) {
+        long needed = (end + PAGE_MASK) >>> PAGE_BITS;
+        if (needed > MAX_CAPACITY)
+            throw new IllegalStateException("The revision comments exceed the store capacity");
+        if (needed > commentPages.length)
+            commentPages = Arrays.copyOf(commentPages, (int) Math.min(Math.max(commentPages.length * 2L, needed), MAX_CAPACITY));
+        while (numPages < needed)
+            commentPages[numPages++] = new char[PAGE_SIZE];
+    }
+}
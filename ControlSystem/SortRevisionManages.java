@@ -5,9 +5,9 @@ import java.util.Comparator;
 public class SortRevisionManages implements Comparator<Revision> {
     @Override
     public int compare(Revision r1, Revision r2) {
-        if (r1.getDate().isAfter(r2.getDate()))
+        if (r1.getEpochDay() > r2.getEpochDay())
             return -1;
-        else if (r1.getDate().isBefore(r2.getDate()))
+        else if (r1.getEpochDay() < r2.getEpochDay())
             return 1;
         else {
             if (r1.getNumber() > r2.getNumber())
@@ -0,0 +1,147 @@
+package ControlSystem;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+public class Statistics {
+
+    // histogramas de latencia dos comandos do Main e dos metodos do sistema, ordenados pelo nome
+    private ConcurrentSkipListMap<String, LatencyHistogram> commands;
+    private ConcurrentSkipListMap<String, LatencyHistogram> entryPoints;
+    // numero de elementos percorridos nas listagens do sistema
+    private LongAdder usersScanned;
+    private LongAdder projectsScanned;
+    private LongAdder artefactsScanned;
+    private LongAdder revisionsScanned;
+    private long start;
+
+    /**
+     * Construtor da class Statistics (as estatisticas so existem quando o Main e executado com --stats)
+     */
+    public Statistics() {
+        this.commands = new ConcurrentSkipListMap<>();
+        this.entryPoints = new ConcurrentSkipListMap<>();
+        this.usersScanned = new LongAdder();
+        this.projectsScanned = new LongAdder();
+        this.artefactsScanned = new LongAdder();
+        this.revisionsScanned = new LongAdder();
+        this.start = System.nanoTime();
+    }
+
+    /**
+     * Obtem o histograma de latencia de um comando, criando-o se ainda nao existir
+     * @param command nome do comando
+     * @return histograma de latencia do comando
+     */
+    public LatencyHistogram command(String command) {
+        return histogram(commands, command);
+    }
+
+    /**
+     * Obtem o histograma de latencia de um metodo do sistema, criando-o se ainda nao existir
+     * @param method nome do metodo
+     * @return histograma de latencia do metodo
+     */
+    public LatencyHistogram entryPoint(String method) {
+        return histogram(entryPoints, method);
+    }
+
+    /**
+     * Obtem os histogramas de latencia dos comandos, ordenados pelo nome do comando
+     * @return histogramas de latencia dos comandos (so de leitura)
+     */
+    public SortedMap<String, LatencyHistogram> getCommands() {
+        return Collections.unmodifiableSortedMap(commands);
+    }
+
+    /**
+     * Obtem os histogramas de latencia dos metodos do sistema, ordenados pelo nome do metodo
+     * @return histogramas de latencia dos metodos (so de leitura)
+     */
+    public SortedMap<String, LatencyHistogram> getEntryPoints() {
+        return Collections.unmodifiableSortedMap(entryPoints);
+    }
+
+    /**
+     * Conta um employee percorrido numa listagem
+     */
+    public void userScanned() {
+        usersScanned.increment();
+    }
+
+    /**
+     * Conta um projeto percorrido numa listagem
+     */
+    public void projectScanned() {
+        projectsScanned.increment();
+    }
+
+    /**
+     * Conta um artefacto percorrido numa listagem
+     */
+    public void artefactScanned() {
+        artefactsScanned.increment();
+    }
+
+    /**
+     * Conta uma revisao percorrida numa listagem
+     */
+    public void revisionScanned() {
+        revisionsScanned.increment();
+    }
+
+    /**
+     * Obtem o numero de employees percorridos nas listagens
+     * @return numero de employees percorridos nas listagens
+     */
+    public long getUsersScanned() {
+        return usersScanned.sum();
+    }
+
+    /**
+     * Obtem o numero de projetos percorridos nas listagens
+     * @return numero de projetos percorridos nas listagens
+     */
+    public long getProjectsScanned() {
+        return projectsScanned.sum();
+    }
+
+    /**
+     * Obtem o numero de artefactos percorridos nas listagens
+     * @return numero de artefactos percorridos nas listagens
+     */
+    public long getArtefactsScanned() {
+        return artefactsScanned.sum();
+    }
+
+    /**
+     * Obtem o numero de revisoes percorridas nas listagens
+     * @return numero de revisoes percorridas nas listagens
+     */
+    public long getRevisionsScanned() {
+        return revisionsScanned.sum();
+    }
+
+    /**
+     * Obtem o tempo decorrido desde que as estatisticas comecaram a ser recolhidas
+     * @return tempo decorrido em segundos
+     */
+    public double getElapsedSeconds() {
+        return (System.nanoTime() - start) / 1e9;
+    }
+
+    /**
+     * Obtem o histograma com um dado nome, criando-o se ainda nao existir
+     * @param histograms histogramas indexados pelo nome
+     * @param name nome do histograma
+     * @return histograma com o dado nome
+     */
+    private static LatencyHistogram histogram(ConcurrentSkipListMap<String, LatencyHistogram> histograms, String name) {
+        LatencyHistogram histogram = histograms.get(name);
+        if (histogram == null)
+            histogram = histograms.computeIfAbsent(name, n -> new LatencyHistogram());
+        return histogram;
+    }
+}
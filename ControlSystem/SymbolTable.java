@@ -0,0 +1,34 @@
+package ControlSystem;
+
+public interface SymbolTable {
+
+    // valor devolvido quando um nome ainda nao tem identificador
+    int NO_SYMBOL = -1;
+
+    /**
+     * Obtem o identificador de um nome, atribuindo-lhe o proximo identificador livre se ainda nao tiver um
+     * @param name nome a ser registado
+     * @return identificador do nome
+     */
+    int intern(String name);
+
+    /**
+     * Obtem o identificador de um nome, sem o registar
+     * @param name nome a ser pesquisado
+     * @return identificador do nome, ou NO_SYMBOL se o nome nao estiver registado
+     */
+    int lookup(String name);
+
+    /**
+     * Obtem o nome com um dado identificador
+     * @param symbol identificador do nome
+     * @return nome com o dado identificador
+     */
+    String resolve(int symbol);
+
+    /**
+     * Obtem o numero de nomes registados (os identificadores vao de 0 a size() - 1)
+     * @return numero de nomes registados
+     */
+    int size();
+}
@@ -0,0 +1,66 @@
+package ControlSystem;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class SymbolTableClass implements SymbolTable {
+
+    private Map<String, Integer> symbols;
+    private List<String> names;
+
+    /**
+     * Construtor da class SymbolTableClass (atribui identificadores inteiros consecutivos aos nomes)
+     */
+    public SymbolTableClass() {
+        this.symbols = new HashMap<>();
+        this.names = new ArrayList<>();
+    }
+
+    /**
+     * Obtem o identificador de um nome, atribuindo-lhe o proximo identificador livre se ainda nao tiver um
+     * @param name nome a ser registado
+     * @return identificador do nome
+     */
+    @Override
+    public int intern(String name) {
+        Integer symbol = symbols.get(name);
+        if (symbol == null) {
+            symbol = names.size();
+            names.add(name);
+            symbols.put(name, symbol);
+        }
+        return symbol;
+    }
+
+    /**
+     * Obtem o identificador de um nome, sem o registar
+     * @param name nome a ser pesquisado
+     * @return identificador do nome, ou NO_SYMBOL se o nome nao estiver registado
+     */
+    @Override
+    public int lookup(String name) {
+        Integer symbol = symbols.get(name);
+        return symbol == null ? NO_SYMBOL : symbol;
+    }
+
+    /**
+     * Obtem o nome com um dado identificador
+     * @param symbol identificador do nome
+     * @return nome com o dado identificador
+     */
+    @Override
+    public String resolve(int symbol) {
+        return names.get(symbol);
+    }
+
+    /**
+     * Obtem o numero de nomes registados (os identificadores vao de 0 a size() - 1)
+     * @return numero de nomes registados
+     */
+    @Override
+    public int size() {
+        return names.size();
+    }
+}
@@ -0,0 +1,10 @@
+package ControlSystem;
+
+import java.util.Comparator;
+
+public class UsernameComparator implements Comparator<Employee> {
+    @Override
+    public int compare(Employee e1, Employee e2) {
+        return e1.getUsername().compareTo(e2.getUsername());
+    }
+}
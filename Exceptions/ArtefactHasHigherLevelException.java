@@ -1,7 +1,7 @@
 package Exceptions;
 
 public class ArtefactHasHigherLevelException extends Exception {
-    private static final String MESSAGE = "%s: exceeds project confidentiality level.";
+    public static final String MESSAGE = "%s: exceeds project confidentiality level.";
     public ArtefactHasHigherLevelException(String name) {
         super(String.format(MESSAGE, name));
     }
@@ -1,7 +1,7 @@
 package Exceptions;
 
 public class EmployeeDoesNotExistException extends Exception {
-    private static final String MESSAGE = "%s: does not exist.";
+    public static final String MESSAGE = "%s: does not exist.";
     public EmployeeDoesNotExistException(String username) {
         super(String.format(MESSAGE, username));
     }
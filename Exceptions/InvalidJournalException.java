@@ -0,0 +1,10 @@
+package Exceptions;
+
+public class InvalidJournalException extends Exception {
+
+    private static final String MESSAGE = "File %s is not a valid journal.";
+
+    public InvalidJournalException(String fileName) {
+        super(String.format(MESSAGE, fileName));
+    }
+}
@@ -0,0 +1,10 @@
+package Exceptions;
+
+public class InvalidSnapshotException extends Exception {
+
+    private static final String MESSAGE = "File %s is not a valid snapshot.";
+
+    public InvalidSnapshotException(String fileName) {
+        super(String.format(MESSAGE, fileName));
+    }
+}
@@ -0,0 +1,10 @@
+package Exceptions;
+
+public class RevisionDoesNotExistException extends Exception {
+
+    private static final String MESSAGE = "Revision %d of artefact %s does not exist.";
+
+    public RevisionDoesNotExistException(int number, String artefactName) {
+        super(String.format(MESSAGE, number, artefactName));
+    }
+}
@@ -0,0 +1,227 @@
+package IO;
+
+import ControlSystem.Dates;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.util.InputMismatchException;
+import java.util.NoSuchElementException;
+
+public class CommandReader {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    // tamanho de cada janela mapeada em memoria de um ficheiro de comandos
+    private static final long WINDOW_SIZE = 1 << 28;
+    private static final int TOKEN_SIZE = 64;
+
+    // origem dos comandos: um stream lido em blocos ou um ficheiro mapeado em memoria por janelas
+    private InputStream in;
+    private FileChannel channel;
+    private long channelPosition;
+    private ByteBuffer buffer;
+    private int position;
+    private int limit;
+    // bytes do token ou linha a ser lido (reutilizado entre leituras)
+    private byte[] token;
+    private int tokenLength;
+    private Charset charset;
+
+    /**
+     * Construtor da class CommandReader (le os comandos em blocos de bytes, sem expressoes regulares)
+     * @param in stream de onde sao lidos os comandos
+     */
+    public CommandReader(InputStream in) {
+        this.in = in;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.position = 0;
+        this.limit = 0;
+        this.token = new byte[TOKEN_SIZE];
+        this.tokenLength = 0;
+        this.charset = Charset.defaultCharset();
+    }
+
+    /**
+     * Construtor da class CommandReader (le os comandos diretamente de um ficheiro mapeado em memoria)
+     * @param channel canal do ficheiro de onde sao lidos os comandos
+     */
+    public CommandReader(FileChannel channel) {
+        this.channel = channel;
+        this.channelPosition = 0;
+        this.buffer = ByteBuffer.allocate(0);
+        this.position = 0;
+        this.limit = 0;
+        this.token = new byte[TOKEN_SIZE];
+        this.tokenLength = 0;
+        this.charset = Charset.defaultCharset();
+    }
+
+    /**
+     * Le o proximo token (sequencia de caracteres sem espacos)
+     * @return proximo token
+     * @throws NoSuchElementException se o input tiver terminado
+     */
+    public String next() {
+        readToken();
+        return new String(token, 0, tokenLength, charset);
+    }
+
+    /**
+     * Le o proximo token como um inteiro
+     * @return inteiro lido
+     * @throws InputMismatchException se o token nao for um inteiro
+     * @throws NoSuchElementException se o input tiver terminado
+     */
+    public int nextInt() {
+        readToken();
+        int i = 0;
+        boolean negative = false;
+        if (token[0] == '-' || token[0] == '+') {
+            negative = token[0] == '-';
+            i++;
+        }
+        if (i == tokenLength)
+            throw new InputMismatchException(new String(token, 0, tokenLength, charset));
+        long value = 0;
+        for (; i < tokenLength; i++) {
+            int digit = token[i] - '0';
+            if (digit < 0 || digit > 9)
+                throw new InputMismatchException(new String(token, 0, tokenLength, charset));
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1)
+                throw new InputMismatchException(new String(token, 0, tokenLength, charset));
+        }
+        if (negative)
+            value = -value;
+        if (value > Integer.MAX_VALUE)
+            throw new InputMismatchException(new String(token, 0, tokenLength, charset));
+        return (int) value;
+    }
+
+    /**
+     * Le o proximo token como uma data no formato dd-MM-yyyy
+     * @return data lida
+     * @throws NoSuchElementException se o input tiver terminado
+     */
+    public LocalDate nextDate() {
+        readToken();
+        return Dates.toLocalDate(Dates.parseEpochDay(token, 0, tokenLength));
+    }
+
+    /**
+     * Le o resto da linha atual (sem o terminador de linha, que e consumido)
+     * @return resto da linha atual
+     * @throws NoSuchElementException se o input tiver terminado
+     */
+    public String nextLine() {
+        if (!fill())
+            throw new NoSuchElementException();
+        tokenLength = 0;
+        while (fill()) {
+            byte b = buffer.get(position++);
+            if (b == '\n')
+                break;
+            if (b == '\r') {
+                if (fill() && buffer.get(position) == '\n')
+                    position++;
+                break;
+            }
+            append(b);
+        }
+        return new String(token, 0, tokenLength, charset);
+    }
+
+    /**
+     * Verifica se ja existe mais input disponivel sem bloquear
+     * @return true se existir input disponivel / false caso contrario
+     */
+    public boolean hasPendingInput() {
+        try {
+            if (position < limit)
+                return true;
+            if (channel != null)
+                return channelPosition < channel.size();
+            return in.available() > 0;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Salta os espacos e le o proximo token para o array token
+     * @throws NoSuchElementException se o input tiver terminado
+     */
+    private void readToken() {
+        while (fill() && isWhitespace(buffer.get(position)))
+            position++;
+        if (!fill())
+            throw new NoSuchElementException();
+        tokenLength = 0;
+        while (fill() && !isWhitespace(buffer.get(position)))
+            append(buffer.get(position++));
+    }
+
+    /**
+     * Acrescenta um byte ao token, aumentando o array se necessario
+     * @param b byte a ser acrescentado
+     */
+    private void append(byte b) {
+        if (tokenLength == token.length) {
+            byte[] aux = new byte[token.length * 2];
+            System.arraycopy(token, 0, aux, 0, tokenLength);
+            token = aux;
+        }
+        token[tokenLength++] = b;
+    }
+
+    /**
+     * Garante que existe pelo menos um byte por ler no buffer, lendo o proximo bloco se necessario
+     * @return true se existir um byte por ler / false se o input tiver terminado
+     */
+    private boolean fill() {
+        if (position < limit)
+            return true;
+        try {
+            if (channel != null)
+                return mapNextWindow();
+            byte[] bytes = buffer.array();
+            int read = in.read(bytes, 0, bytes.length);
+            while (read == 0)
+                read = in.read(bytes, 0, bytes.length);
+            position = 0;
+            limit = Math.max(read, 0);
+            return read > 0;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Mapeia em memoria a proxima janela do ficheiro de comandos
+     * @return true se a janela tiver bytes por ler / false se o ficheiro tiver terminado
+     * @throws IOException
+     */
+    private boolean mapNextWindow() throws IOException {
+        long size = Math.min(WINDOW_SIZE, channel.size() - channelPosition);
+        if (size <= 0)
+            return false;
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, channelPosition, size);
+        channelPosition += size;
+        position = 0;
+        limit = (int) size;
+        return true;
+    }
+
+    /**
+     * Verifica se um byte e um espaco (os mesmos caracteres ASCII que o Character.isWhitespace)
+     * @param b byte a ser verificado
+     * @return true se o byte for um espaco / false caso contrario
+     */
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || (b >= '\t' && b <= '\r') || (b >= 0x1C && b <= 0x1F);
+    }
+}
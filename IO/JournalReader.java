@@ -0,0 +1,154 @@
+package IO;
+
+import Exceptions.InvalidJournalException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.zip.CRC32;
+
+public class JournalReader implements Closeable {
+
+    // tamanho de cada janela mapeada em memoria do journal
+    private static final long WINDOW_SIZE = 1 << 28;
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+    // geracao de um journal sem cabecalho completo (inexistente, vazio ou recomecado a meio)
+    public static final int NO_GENERATION = 0;
+
+    private FileChannel channel;
+    private long size;
+    // posicao no ficheiro do inicio da janela mapeada
+    private long windowStart;
+    private ByteBuffer buffer;
+    // conteudo do registo atual e posicao no ficheiro do fim do ultimo registo valido
+    private ByteBuffer record;
+    private long validLength;
+    private CRC32 crc;
+    private int generation;
+
+    /**
+     * Construtor da class JournalReader (le os registos de um journal mapeado em memoria; um journal inexistente esta vazio)
+     * @param fileName nome do ficheiro do journal
+     * @throws IOException
+     * @throws InvalidJournalException se o ficheiro tiver um cabecalho que nao e de um journal
+     */
+    public JournalReader(String fileName) throws IOException, InvalidJournalException {
+        Path path = Paths.get(fileName);
+        this.channel = Files.exists(path) ? FileChannel.open(path) : null;
+        this.size = channel == null ? 0 : channel.size();
+        this.windowStart = 0;
+        this.buffer = ByteBuffer.allocate(0);
+        this.record = ByteBuffer.allocate(0);
+        this.validLength = 0;
+        this.crc = new CRC32();
+        this.generation = NO_GENERATION;
+        if (size >= JournalWriter.FILE_HEADER_SIZE) {
+            ensure(JournalWriter.FILE_HEADER_SIZE);
+            if (buffer.getInt() != JournalWriter.JOURNAL_MAGIC) {
+                close();
+                throw new InvalidJournalException(fileName);
+            }
+            this.generation = buffer.getInt();
+            this.validLength = JournalWriter.FILE_HEADER_SIZE;
+        }
+    }
+
+    /**
+     * Obtem a geracao do journal, lida do cabecalho
+     * @return geracao do journal, ou NO_GENERATION se o journal nao tiver um cabecalho completo (e portanto nao tem registos)
+     */
+    public int getGeneration() {
+        return generation;
+    }
+
+    /**
+     * Avanca para o proximo registo; um registo incompleto ou com o CRC errado (escrita interrompida) termina o journal
+     * @return true se existir um proximo registo valido / false caso contrario
+     * @throws IOException
+     */
+    public boolean nextRecord() throws IOException {
+        if (generation == NO_GENERATION)
+            return false;
+        long position = windowStart + buffer.position();
+        if (size - position < HEADER_SIZE)
+            return false;
+        ensure(HEADER_SIZE);
+        int length = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (length < 0 || size - position - HEADER_SIZE < length)
+            return false;
+        ensure(length);
+        record = buffer.slice();
+        record.limit(length);
+        buffer.position(buffer.position() + length);
+        crc.reset();
+        crc.update(record.duplicate());
+        if ((int) crc.getValue() != checksum)
+            return false;
+        validLength = position + HEADER_SIZE + length;
+        return true;
+    }
+
+    /**
+     * Le um byte do registo atual
+     * @return byte lido (entre 0 e 255)
+     */
+    public int readByte() {
+        return record.get() & 0xFF;
+    }
+
+    /**
+     * Le um inteiro do registo atual
+     * @return inteiro lido
+     */
+    public int readInt() {
+        return record.getInt();
+    }
+
+    /**
+     * Le uma string do registo atual, precedida do seu tamanho em bytes
+     * @return string lida
+     */
+    public String readString() {
+        byte[] bytes = new byte[readInt()];
+        record.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Obtem o tamanho da parte valida do journal (o cabecalho e os registos validos ja lidos)
+     * @return tamanho da parte valida do journal
+     */
+    public long getValidLength() {
+        return validLength;
+    }
+
+    /**
+     * Fecha o ficheiro do journal
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        if (channel != null)
+            channel.close();
+    }
+
+    /**
+     * Garante que a janela mapeada tem um dado numero de bytes por ler, mapeando a proxima janela se for preciso
+     * @param bytes numero de bytes a ler (que existem no ficheiro)
+     * @throws IOException
+     */
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes)
+            return;
+        long position = windowStart + buffer.position();
+        long length = Math.min(size - position, Math.max(WINDOW_SIZE, bytes));
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        windowStart = position;
+    }
+}
@@ -0,0 +1,208 @@
+package IO;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+public class JournalWriter implements Flushable, Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    // cabecalho do ficheiro: JOURNAL_MAGIC e geracao do journal (cada checkpoint recomeca o journal com a geracao seguinte)
+    static final int JOURNAL_MAGIC = 0x434a524e;
+    static final int FILE_HEADER_SIZE = 2 * Integer.BYTES;
+    // cabecalho de cada registo: tamanho do conteudo e CRC32 do conteudo
+    private static final int HEADER_SIZE = 2 * Integer.BYTES;
+
+    private FileChannel channel;
+    // registo a ser construido e registos completos a espera de serem escritos no ficheiro
+    private ByteBuffer record;
+    private ByteBuffer pending;
+    private ByteBuffer writing;
+    private CRC32 crc;
+    // numero de registos adicionados e numero de registos que ja estao no disco
+    private long appended;
+    private volatile long durable;
+    // so uma thread de cada vez escreve e sincroniza o ficheiro; as outras esperam e aproveitam essa sincronizacao
+    private final Object syncLock;
+
+    /**
+     * Construtor da class JournalWriter (acrescenta registos ao fim de um journal ja validado)
+     * @param fileName nome do ficheiro do journal
+     * @param generation geracao do journal, escrita no cabecalho se o journal for recomecado
+     * @param validLength tamanho da parte valida do journal, com o cabecalho (o resto, de um registo incompleto, e
+     * descartado), ou 0 para recomecar o journal
+     * @throws IOException
+     */
+    public JournalWriter(String fileName, int generation, long validLength) throws IOException {
+        this.channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        if (validLength == 0)
+            restart(generation);
+        else {
+            channel.truncate(validLength);
+            channel.position(validLength);
+        }
+        this.record = ByteBuffer.allocate(BUFFER_SIZE);
+        this.pending = ByteBuffer.allocate(BUFFER_SIZE);
+        this.writing = ByteBuffer.allocate(BUFFER_SIZE);
+        this.crc = new CRC32();
+        this.appended = 0;
+        this.durable = 0;
+        this.syncLock = new Object();
+    }
+
+    /**
+     * Comeca um novo registo
+     */
+    public synchronized void beginRecord() {
+        record.clear();
+    }
+
+    /**
+     * Escreve um byte no registo atual
+     * @param value byte a ser escrito
+     */
+    public synchronized void writeByte(int value) {
+        ensureRecord(1);
+        record.put((byte) value);
+    }
+
+    /**
+     * Escreve um inteiro no registo atual
+     * @param value inteiro a ser escrito
+     */
+    public synchronized void writeInt(int value) {
+        ensureRecord(Integer.BYTES);
+        record.putInt(value);
+    }
+
+    /**
+     * Escreve uma string no registo atual, precedida do seu tamanho em bytes
+     * @param value string a ser escrita
+     */
+    public synchronized void writeString(String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        ensureRecord(bytes.length);
+        record.put(bytes);
+    }
+
+    /**
+     * Termina o registo atual, juntando-o aos registos a espera de serem escritos (so fica no disco depois do flush)
+     */
+    public synchronized void endRecord() {
+        record.flip();
+        crc.reset();
+        crc.update(record.duplicate());
+        pending = ensure(pending, HEADER_SIZE + record.remaining());
+        pending.putInt(record.remaining());
+        pending.putInt((int) crc.getValue());
+        pending.put(record);
+        appended++;
+    }
+
+    /**
+     * Escreve e sincroniza com o disco todos os registos ja terminados (group commit: uma unica sincronizacao
+     * cobre todos os registos acumulados, incluindo os de outras threads que estejam a espera)
+     * @throws IOException
+     */
+    @Override
+    public void flush() throws IOException {
+        long target;
+        synchronized (this) {
+            target = appended;
+        }
+        if (durable >= target)
+            return;
+        synchronized (syncLock) {
+            if (durable >= target)
+                return;
+            long upTo;
+            synchronized (this) {
+                ByteBuffer full = pending;
+                pending = writing;
+                writing = full;
+                pending.clear();
+                upTo = appended;
+            }
+            writing.flip();
+            while (writing.hasRemaining())
+                channel.write(writing);
+            channel.force(false);
+            durable = upTo;
+        }
+    }
+
+    /**
+     * Esvazia o journal e passa-o para a geracao seguinte (depois de o seu conteudo ter sido guardado num snapshot que
+     * regista a geracao anterior: se o processo terminar antes disto, os registos do journal sao ignorados por estarem
+     * no snapshot)
+     * @param generation nova geracao do journal
+     * @throws IOException
+     */
+    public void reset(int generation) throws IOException {
+        synchronized (syncLock) {
+            synchronized (this) {
+                pending.clear();
+                durable = appended;
+            }
+            restart(generation);
+        }
+    }
+
+    /**
+     * Escreve os registos que faltam e fecha o journal
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        flush();
+        channel.close();
+    }
+
+    /**
+     * Recomeca o ficheiro do journal so com o cabecalho de uma dada geracao, sincronizando-o com o disco (um ficheiro
+     * que fique vazio por uma interrupcao a meio nao tem registos, e e recomecado na proxima abertura)
+     * @param generation geracao do journal
+     * @throws IOException
+     */
+    private void restart(int generation) throws IOException {
+        channel.truncate(0);
+        ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+        header.putInt(JOURNAL_MAGIC);
+        header.putInt(generation);
+        header.flip();
+        channel.position(0);
+        while (header.hasRemaining())
+            channel.write(header);
+        channel.force(true);
+    }
+
+    /**
+     * Garante que o registo atual tem espaco para um dado numero de bytes
+     * @param bytes numero de bytes a escrever
+     */
+    private void ensureRecord(int bytes) {
+        record = ensure(record, bytes);
+    }
+
+    /**
+     * Obtem um buffer com o conteudo de outro e espaco para um dado numero de bytes
+     * @param buffer buffer a ser aumentado se for preciso
+     * @param bytes numero de bytes a escrever
+     * @return buffer com espaco para os bytes
+     */
+    private static ByteBuffer ensure(ByteBuffer buffer, int bytes) {
+        if (buffer.remaining() >= bytes)
+            return buffer;
+        ByteBuffer larger = ByteBuffer.allocate(Math.max(buffer.capacity() * 2, buffer.position() + bytes));
+        buffer.flip();
+        larger.put(buffer);
+        return larger;
+    }
+}
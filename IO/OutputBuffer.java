@@ -0,0 +1,86 @@
+package IO;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.util.Formatter;
+
+public class OutputBuffer {
+
+    // tamanho a partir do qual o buffer e despejado mesmo a meio de um lote de comandos
+    private static final int FLUSH_THRESHOLD = 1 << 16;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
+
+    private StringBuilder buffer;
+    private Formatter formatter;
+    private Writer out;
+    // journal sincronizado antes de cada despejo, para que um comando so seja confirmado depois de estar no disco
+    private Flushable journal;
+
+    /**
+     * Construtor da class OutputBuffer
+     * @param out stream para onde o output e despejado
+     */
+    public OutputBuffer(OutputStream out) {
+        this(out, null);
+    }
+
+    /**
+     * Construtor da class OutputBuffer que sincroniza um journal antes de despejar o output
+     * @param out stream para onde o output e despejado
+     * @param journal journal a sincronizar antes de cada despejo, ou null se nao existir
+     */
+    public OutputBuffer(OutputStream out, Flushable journal) {
+        this.buffer = new StringBuilder(FLUSH_THRESHOLD * 2);
+        this.formatter = new Formatter(buffer);
+        this.out = new OutputStreamWriter(out, Charset.defaultCharset());
+        this.journal = journal;
+    }
+
+    /**
+     * Escreve uma linha no buffer
+     * @param line linha a ser escrita
+     */
+    public void println(String line) {
+        buffer.append(line).append(LINE_SEPARATOR);
+    }
+
+    /**
+     * Escreve texto formatado no buffer (mesmas regras que o printf)
+     * @param format formato do texto
+     * @param args argumentos do formato
+     */
+    public void printf(String format, Object... args) {
+        formatter.format(format, args);
+    }
+
+    /**
+     * Termina um comando, despejando o buffer se estiver cheio ou se nao houver mais input ja disponivel
+     * @param inputPending true se existir mais input ja disponivel para ler / false caso contrario
+     */
+    public void endCommand(boolean inputPending) {
+        if (!inputPending || buffer.length() >= FLUSH_THRESHOLD)
+            flush();
+    }
+
+    /**
+     * Despeja todo o conteudo do buffer no stream de output (depois de sincronizar o journal, se existir)
+     */
+    public void flush() {
+        try {
+            if (journal != null)
+                journal.flush();
+            if (buffer.length() > 0) {
+                out.append(buffer);
+                buffer.setLength(0);
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
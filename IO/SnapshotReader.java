@@ -0,0 +1,161 @@
+package IO;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+
+public class SnapshotReader implements Closeable {
+
+    // tamanho de cada janela mapeada em memoria do snapshot
+    private static final long WINDOW_SIZE = 1 << 28;
+
+    private FileChannel channel;
+    private long size;
+    // posicao no ficheiro do inicio da janela mapeada
+    private long windowStart;
+    private ByteBuffer buffer;
+
+    /**
+     * Construtor da class SnapshotReader (le o snapshot diretamente de um ficheiro mapeado em memoria)
+     * @param fileName nome do ficheiro do snapshot
+     * @throws IOException
+     */
+    public SnapshotReader(String fileName) throws IOException {
+        this.channel = FileChannel.open(Paths.get(fileName));
+        this.size = channel.size();
+        this.windowStart = 0;
+        this.buffer = ByteBuffer.allocate(0);
+    }
+
+    /**
+     * Le um byte
+     * @return byte lido (entre 0 e 255)
+     * @throws IOException
+     */
+    public int readByte() throws IOException {
+        ensure(1);
+        return buffer.get() & 0xFF;
+    }
+
+    /**
+     * Le um inteiro
+     * @return inteiro lido
+     * @throws IOException
+     */
+    public int readInt() throws IOException {
+        ensure(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    /**
+     * Le o numero de elementos de um bloco, verificando que o snapshot ainda tem bytes para todos eles (um tamanho
+     * corrompido nao chega a reservar um array enorme)
+     * @param elementBytes numero de bytes de cada elemento do bloco
+     * @return numero de elementos lido
+     * @throws IOException
+     */
+    public int readLength(int elementBytes) throws IOException {
+        int length = readInt();
+        if (length < 0)
+            throw new IOException("Negative block length " + length);
+        if ((long) length * elementBytes > remaining())
+            throw new EOFException();
+        return length;
+    }
+
+    /**
+     * Le um bloco de inteiros diretamente da janela mapeada
+     * @param values array onde guardar os inteiros lidos
+     * @param offset posicao do array onde guardar o primeiro inteiro
+     * @param length numero de inteiros a ler
+     * @throws IOException
+     */
+    public void readInts(int[] values, int offset, int length) throws IOException {
+        while (length > 0) {
+            ensure(Integer.BYTES);
+            int count = Math.min(length, buffer.remaining() / Integer.BYTES);
+            buffer.asIntBuffer().get(values, offset, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Le um bloco de chars (UTF-16) diretamente da janela mapeada
+     * @param values array onde guardar os chars lidos
+     * @param offset posicao do array onde guardar o primeiro char
+     * @param length numero de chars a ler
+     * @throws IOException
+     */
+    public void readChars(char[] values, int offset, int length) throws IOException {
+        while (length > 0) {
+            ensure(Character.BYTES);
+            int count = Math.min(length, buffer.remaining() / Character.BYTES);
+            buffer.asCharBuffer().get(values, offset, count);
+            buffer.position(buffer.position() + count * Character.BYTES);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Le uma string precedida do seu tamanho em bytes
+     * @return string lida
+     * @throws IOException
+     */
+    public String readString() throws IOException {
+        int length = readInt();
+        if (length < 0)
+            throw new IOException("Negative string length " + length);
+        ensure(length);
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Obtem o numero de bytes do snapshot que ainda nao foram lidos
+     * @return numero de bytes por ler
+     */
+    public long remaining() {
+        return size - (windowStart + buffer.position());
+    }
+
+    /**
+     * Verifica se o snapshot ja foi lido ate ao fim
+     * @return true se nao houver mais bytes para ler / false caso contrario
+     */
+    public boolean atEnd() {
+        return windowStart + buffer.position() == size;
+    }
+
+    /**
+     * Fecha o ficheiro do snapshot
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * Garante que a janela mapeada tem um dado numero de bytes por ler, mapeando a proxima janela se for preciso
+     * @param bytes numero de bytes a ler
+     * @throws IOException
+     */
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() >= bytes)
+            return;
+        long position = windowStart + buffer.position();
+        if (size - position < bytes)
+            throw new EOFException();
+        long length = Math.min(size - position, Math.max(WINDOW_SIZE, bytes));
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, length);
+        windowStart = position;
+    }
+}
@@ -0,0 +1,156 @@
+package IO;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+public class SnapshotWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final String TEMPORARY_SUFFIX = ".tmp";
+
+    // o snapshot e escrito num ficheiro temporario e so substitui o ficheiro final quando estiver completo
+    private Path file;
+    private Path temporary;
+    private FileChannel channel;
+    private ByteBuffer buffer;
+    private boolean finished;
+
+    /**
+     * Construtor da class SnapshotWriter (escreve inteiros big-endian e strings UTF-8 precedidas do seu tamanho)
+     * @param fileName nome do ficheiro do snapshot
+     * @throws IOException
+     */
+    public SnapshotWriter(String fileName) throws IOException {
+        this.file = Paths.get(fileName);
+        this.temporary = Paths.get(fileName + TEMPORARY_SUFFIX);
+        this.channel = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        this.finished = false;
+    }
+
+    /**
+     * Escreve um byte
+     * @param value byte a ser escrito
+     * @throws IOException
+     */
+    public void writeByte(int value) throws IOException {
+        ensure(1);
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Escreve um inteiro
+     * @param value inteiro a ser escrito
+     * @throws IOException
+     */
+    public void writeInt(int value) throws IOException {
+        ensure(Integer.BYTES);
+        buffer.putInt(value);
+    }
+
+    /**
+     * Escreve um bloco de inteiros
+     * @param values array com os inteiros a escrever
+     * @param offset posicao do primeiro inteiro no array
+     * @param length numero de inteiros a escrever
+     * @throws IOException
+     */
+    public void writeInts(int[] values, int offset, int length) throws IOException {
+        while (length > 0) {
+            ensure(Integer.BYTES);
+            int count = Math.min(length, buffer.remaining() / Integer.BYTES);
+            buffer.asIntBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * Integer.BYTES);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Escreve um bloco de chars (UTF-16)
+     * @param values array com os chars a escrever
+     * @param offset posicao do primeiro char no array
+     * @param length numero de chars a escrever
+     * @throws IOException
+     */
+    public void writeChars(char[] values, int offset, int length) throws IOException {
+        while (length > 0) {
+            ensure(Character.BYTES);
+            int count = Math.min(length, buffer.remaining() / Character.BYTES);
+            buffer.asCharBuffer().put(values, offset, count);
+            buffer.position(buffer.position() + count * Character.BYTES);
+            offset += count;
+            length -= count;
+        }
+    }
+
+    /**
+     * Escreve uma string, precedida do seu tamanho em bytes
+     * @param value string a ser escrita
+     * @throws IOException
+     */
+    public void writeString(String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeInt(bytes.length);
+        if (bytes.length > buffer.capacity()) {
+            drain();
+            channel.write(ByteBuffer.wrap(bytes));
+            return;
+        }
+        ensure(bytes.length);
+        buffer.put(bytes);
+    }
+
+    /**
+     * Termina o snapshot: escreve o que falta, sincroniza-o com o disco e substitui o ficheiro final
+     * @throws IOException
+     */
+    public void finish() throws IOException {
+        drain();
+        channel.force(true);
+        channel.close();
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        finished = true;
+    }
+
+    /**
+     * Fecha o escritor, apagando o ficheiro temporario se o snapshot nao tiver sido terminado
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        if (finished)
+            return;
+        channel.close();
+        Files.deleteIfExists(temporary);
+    }
+
+    /**
+     * Garante que o buffer tem espaco para um dado numero de bytes
+     * @param bytes numero de bytes a escrever
+     * @throws IOException
+     */
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes)
+            drain();
+    }
+
+    /**
+     * Escreve no ficheiro o conteudo do buffer
+     * @throws IOException
+     */
+    private void drain() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining())
+            channel.write(buffer);
+        buffer.clear();
+    }
+}
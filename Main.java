@@ -1,15 +1,49 @@
 import ControlSystem.*;
 import Exceptions.*;
-
+import IO.CommandReader;
+import IO.OutputBuffer;
+
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
-import java.util.Scanner;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReadWriteLock;
 
 public class Main {
 
+    // opcoes da linha de comandos
+    private static final String BATCH_OPTION = "--batch";
+    private static final String LOAD_OPTION = "--load";
+    private static final String SAVE_OPTION = "--save";
+    private static final String JOURNAL_OPTION = "--journal";
+    private static final String STATS_OPTION = "--stats";
+    private static final String SERVER_OPTION = "--server";
+    private static final String OPTION_PREFIX = "--";
+    private static final String USAGE = "Usage: java Main [--load <snapshot>] [--journal <journal>] [--save <snapshot>] [--stats] [--batch <commands file> [<output file>] | --server <port | socket path>]";
+    private static final String SERVER_LISTENING = "Listening on %s\n";
+    // fabrica de executors com uma virtual thread por tarefa (so existe a partir do Java 21)
+    private static final String VIRTUAL_THREAD_EXECUTOR = "newVirtualThreadPerTaskExecutor";
+
     // comandos disponiveis
     private static final String QUIT = "EXIT";
     private static final String HELP = "HELP";
@@ -26,6 +60,7 @@ public class Main {
     private static final String WORKAHOLICS = "WORKAHOLICS";
     private static final String TEAM = "TEAM";
     private static final String COMMON = "COMMON";
+    private static final String STATS = "STATS";
 
     // feedback dado pelo programa
     private static final String BYE_MESSAGE = "Bye!";
@@ -40,9 +75,7 @@ public class Main {
     private static final String OUTSOURCED_INFO = "outsourced %s is managed by %s and developed by %s\n";
     private static final String CREATED_PROJECT = "%s project was created.\n";
     private static final String TEAM_TITLE = "Latest team members:";
-    private static final String ADDED_EMPLOYEE_TO_TEAM = "%s: added to the team.\n";
     private static final String ARTEFACTS_TITLE = "Latest project artefacts:";
-    private static final String ADDED_ARTEFACT_TO_PROJECT = "%s: added to the project.\n";
     private static final String PROJECT_FORMAT = "%s [%d] managed by %s [%d]:\n";
     private static final String EMPLOYEE_INFO = "%s [%d]\n";
     private static final String ARTEFACT_INFO = "%s [%d]\n";
@@ -57,69 +90,333 @@ public class Main {
     private static final String CONFIDENTIALITY_INFO = "%s is managed by %s and has keywords %s\n";
     private static final String WORKAHOLICS_INFO = "%s: %d updates, %d projects, last update on %s\n";
     private static final String COMMON_INFO = "%s %s have %d projects in common.\n";
-
-    // manipulacao de datas
-    private static final String WRITE_DATE_FORMAT = "dd-MM-yyyy";
+    private static final String STATS_TITLE = "Statistics after %.3f seconds (latencies in microseconds):\n";
+    private static final String STATS_COMMANDS_TITLE = "Commands:";
+    private static final String STATS_ENTRY_POINTS_TITLE = "System methods:";
+    private static final String STATS_INFO = "%s: %d calls, %.1f calls/s, p50 %.1f, p99 %.1f, p999 %.1f, max %.1f\n";
+    private static final String STATS_SCANNED = "Scanned: %d users, %d projects, %d artefacts, %d revisions\n";
 
     public static void main(String[] args) {
         ControlSystem system = new ControlSystemClass();
-        Scanner in = new Scanner(System.in);
+        String snapshotToLoad = null;
+        String snapshotToSave = null;
+        String journalFile = null;
+        String commandsFile = null;
+        String outputFile = null;
+        String serverAddress = null;
+        // estatisticas de latencia, so existem quando o programa e executado com --stats (caso contrario nao ha medicoes)
+        Statistics statistics = null;
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals(LOAD_OPTION) && i + 1 < args.length)
+                snapshotToLoad = args[++i];
+            else if (args[i].equals(SAVE_OPTION) && i + 1 < args.length)
+                snapshotToSave = args[++i];
+            else if (args[i].equals(JOURNAL_OPTION) && i + 1 < args.length)
+                journalFile = args[++i];
+            else if (args[i].equals(STATS_OPTION))
+                statistics = new Statistics();
+            else if (args[i].equals(SERVER_OPTION) && i + 1 < args.length)
+                serverAddress = args[++i];
+            else if (args[i].equals(BATCH_OPTION) && i + 1 < args.length) {
+                commandsFile = args[++i];
+                if (i + 1 < args.length && !args[i + 1].startsWith(OPTION_PREFIX))
+                    outputFile = args[++i];
+            } else {
+                System.err.println(USAGE);
+                return;
+            }
+        }
+        if (serverAddress != null && commandsFile != null) {
+            System.err.println(USAGE);
+            return;
+        }
+
+        if (snapshotToLoad != null && !loadSnapshot(system, snapshotToLoad))
+            return;
+        JournalingControlSystem journal = null;
+        if (journalFile != null) {
+            journal = openJournal(system, journalFile);
+            if (journal == null)
+                return;
+            system = journal;
+        }
+        if (statistics != null)
+            system = new InstrumentedControlSystem(system, statistics);
+
+        if (serverAddress != null) {
+            ConcurrentControlSystem concurrent = new ConcurrentControlSystem(system);
+            serve(serverAddress, concurrent, concurrent.getLock(), journal, snapshotToSave, statistics);
+            return;
+        }
+        if (commandsFile != null)
+            runBatch(commandsFile, outputFile, system, journal, statistics);
+        else {
+            CommandReader in = new CommandReader(System.in);
+            OutputBuffer out = new OutputBuffer(System.out, journal);
+            try {
+                run(in, system, null, out, statistics);
+            } finally {
+                out.flush();
+            }
+        }
+        finish(system, journal, snapshotToSave);
+    }
+
+    /**
+     * Termina a execucao: guarda o snapshot pedido e fecha o journal
+     * @param system sistema a ser guardado
+     * @param journal journal a ser fechado, ou null se nao existir
+     * @param snapshotToSave nome do ficheiro do snapshot, ou null se nao for para guardar
+     */
+    private static void finish(ControlSystem system, JournalingControlSystem journal, String snapshotToSave) {
+        if (snapshotToSave != null)
+            saveSnapshot(system, snapshotToSave);
+        if (journal != null)
+            closeJournal(journal);
+    }
+
+    /**
+     * Aceita ligacoes num porto TCP local ou num socket Unix ate o processo terminar; cada ligacao e uma sessao do mesmo
+     * protocolo de comandos, na sua propria thread, sobre o sistema partilhado (o snapshot e guardado e o journal fechado
+     * quando o processo termina)
+     * @param address porto TCP (so aceita ligacoes locais) ou caminho do socket Unix
+     * @param system sistema partilhado pelas sessoes
+     * @param lock lock do sistema partilhado (ver run)
+     * @param journal journal a sincronizar antes de cada despejo do output, ou null se nao existir
+     * @param snapshotToSave nome do ficheiro do snapshot a guardar no fim, ou null se nao for para guardar
+     * @param statistics estatisticas de latencia partilhadas pelas sessoes, ou null sem --stats
+     */
+    private static void serve(String address, ControlSystem system, ReadWriteLock lock, JournalingControlSystem journal, String snapshotToSave, Statistics statistics) {
+        boolean unix = !address.chars().allMatch(Character::isDigit);
+        SocketAddress socketAddress = unix ? UnixDomainSocketAddress.of(address) : new InetSocketAddress(InetAddress.getLoopbackAddress(), Integer.parseInt(address));
+        try (ServerSocketChannel server = unix ? ServerSocketChannel.open(StandardProtocolFamily.UNIX) : ServerSocketChannel.open()) {
+            server.bind(socketAddress);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                finish(system, journal, snapshotToSave);
+                if (unix)
+                    new File(address).delete();
+            }));
+            System.out.printf(SERVER_LISTENING, server.getLocalAddress());
+            ExecutorService sessions = newSessionExecutor();
+            while (true) {
+                SocketChannel channel = server.accept();
+                sessions.execute(() -> session(channel, system, lock, journal, statistics));
+            }
+        } catch (IOException | NumberFormatException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Cria o executor das sessoes do servidor: uma virtual thread por sessao quando a JVM as suporta, ou uma thread de
+     * plataforma por sessao (reaproveitadas entre sessoes) caso contrario
+     * @return executor das sessoes
+     */
+    private static ExecutorService newSessionExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod(VIRTUAL_THREAD_EXECUTOR).invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool();
+        }
+    }
+
+    /**
+     * Executa os comandos de uma ligacao ate ao comando exit ou ate o cliente fechar a ligacao; o output de cada comando
+     * e despejado quando nao ha mais comandos ja recebidos
+     * @param channel ligacao do cliente
+     * @param system sistema partilhado pelas sessoes
+     * @param lock lock do sistema partilhado (ver run)
+     * @param journal journal a sincronizar antes de cada despejo do output, ou null se nao existir
+     * @param statistics estatisticas de latencia, ou null sem --stats
+     */
+    private static void session(SocketChannel channel, ControlSystem system, ReadWriteLock lock, Flushable journal, Statistics statistics) {
+        try (channel) {
+            OutputBuffer out = new OutputBuffer(Channels.newOutputStream(channel), journal);
+            try {
+                run(new CommandReader(Channels.newInputStream(channel)), system, lock, out, statistics);
+            } finally {
+                out.flush();
+            }
+        } catch (NoSuchElementException e) {
+            // o cliente fechou a ligacao sem o comando exit
+        } catch (IOException | UncheckedIOException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Bloqueia o sistema partilhado para leitura, no modo servidor, para que um comando que so consulta veja um estado
+     * consistente enquanto escreve o output
+     * @param lock lock do sistema partilhado, ou null fora do modo servidor
+     */
+    private static void lockRead(ReadWriteLock lock) {
+        if (lock != null)
+            lock.readLock().lock();
+    }
+
+    /**
+     * Liberta o bloqueio obtido com lockRead
+     * @param lock lock do sistema partilhado, ou null fora do modo servidor
+     */
+    private static void unlockRead(ReadWriteLock lock) {
+        if (lock != null)
+            lock.readLock().unlock();
+    }
+
+    /**
+     * Abre o journal, repondo no sistema as alteracoes nele registadas (por cima do snapshot carregado, se existir)
+     * @param system sistema onde as alteracoes sao repostas
+     * @param fileName nome do ficheiro do journal
+     * @return sistema que regista no journal as alteracoes seguintes, ou null se o journal nao puder ser aberto
+     */
+    private static JournalingControlSystem openJournal(ControlSystem system, String fileName) {
+        try {
+            return new JournalingControlSystem(system, fileName);
+        } catch (IOException | InvalidJournalException e) {
+            System.err.println(e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Fecha o journal, sincronizando as alteracoes que faltem
+     * @param journal journal a ser fechado
+     */
+    private static void closeJournal(JournalingControlSystem journal) {
+        try {
+            journal.close();
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Carrega o estado do sistema a partir de um snapshot, antes de serem lidos os comandos
+     * @param system sistema (vazio) onde o snapshot e carregado
+     * @param fileName nome do ficheiro do snapshot
+     * @return true se o snapshot foi carregado / false caso contrario
+     */
+    private static boolean loadSnapshot(ControlSystem system, String fileName) {
+        try {
+            system.loadSnapshot(fileName);
+            return true;
+        } catch (IOException | InvalidSnapshotException e) {
+            System.err.println(e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Guarda o estado do sistema num snapshot, depois de executados os comandos
+     * @param system sistema a ser guardado
+     * @param fileName nome do ficheiro do snapshot
+     */
+    private static void saveSnapshot(ControlSystem system, String fileName) {
+        try {
+            system.saveSnapshot(fileName);
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Executa um ficheiro de comandos mapeado em memoria, escrevendo o output num ficheiro (ou no stdout se nao for dado)
+     * @param commandsFile nome do ficheiro de comandos
+     * @param outputFile nome do ficheiro de output, ou null para escrever no stdout
+     * @param system sistema onde os comandos sao executados
+     * @param journal journal a sincronizar antes de cada despejo do output, ou null se nao existir
+     * @param statistics estatisticas de latencia, ou null sem --stats
+     */
+    private static void runBatch(String commandsFile, String outputFile, ControlSystem system, Flushable journal, Statistics statistics) {
+        try (FileChannel channel = FileChannel.open(Paths.get(commandsFile))) {
+            OutputStream stream = outputFile != null ? Files.newOutputStream(Paths.get(outputFile)) : System.out;
+            OutputBuffer out = new OutputBuffer(stream, journal);
+            try {
+                run(new CommandReader(channel), system, null, out, statistics);
+            } finally {
+                out.flush();
+                if (stream != System.out)
+                    stream.close();
+            }
+        } catch (IOException e) {
+            System.err.println(e.getMessage());
+        }
+    }
+
+    /**
+     * Executa os comandos lidos ate ao comando exit
+     * @param in leitor de onde sao lidos os comandos
+     * @param system sistema onde os comandos sao executados
+     * @param lock lock do sistema partilhado pelas sessoes do servidor, bloqueado pelos comandos project, manages e
+     * common enquanto escrevem o output, pois percorrem colecoes dos projetos e employees (as outras consultas percorrem
+     * versoes imutaveis dos indices); null fora do modo servidor, em que so existe uma sessao
+     * @param out buffer onde e escrito o output
+     * @param statistics estatisticas onde sao registadas as latencias dos comandos, ou null sem --stats
+     */
+    private static void run(CommandReader in, ControlSystem system, ReadWriteLock lock, OutputBuffer out, Statistics statistics) {
         String comm = getCommand(in);
 
         while (!comm.equals(QUIT)) {
+            long start = statistics != null ? System.nanoTime() : 0;
             switch (comm) {
                 case HELP:
-                    help();
+                    help(out, statistics);
                     break;
                 case REGISTER:
-                    register(in, system);
+                    register(in, system, out);
                     break;
                 case USERS:
-                    listUsers(system);
+                    listUsers(system, out);
                     break;
                 case CREATE:
-                    createProject(in, system);
+                    createProject(in, system, out);
                     break;
                 case PROJECTS:
-                    listProjects(system);
+                    listProjects(system, out);
                     break;
                 case TEAM:
-                    addTeamToProject(in, system);
+                    addTeamToProject(in, system, out);
                     break;
                 case ARTEFACTS:
-                    addArtefactsToProject(in, system);
+                    addArtefactsToProject(in, system, out);
                     break;
                 case PROJECT:
-                    projectInfo(in, system);
+                    projectInfo(in, system, lock, out);
                     break;
                 case REVISION:
-                    addRevisionToArtefact(in, system);
+                    addRevisionToArtefact(in, system, out);
                     break;
                 case MANAGES:
-                    managesInfo(in, system);
+                    managesInfo(in, system, lock, out);
                     break;
                 case KEYWORD:
-                    listProjectsByKeyword(in, system);
+                    listProjectsByKeyword(in, system, out);
                     break;
                 case CONFIDENTIALITY:
-                    listByConfidentiality(in, system);
+                    listByConfidentiality(in, system, out);
                     break;
                 case WORKAHOLICS:
-                    listWokaholics(system);
+                    listWokaholics(system, out);
                     break;
                 case COMMON:
-                    listCommon(system);
+                    listCommon(system, lock, out);
+                    break;
+                case STATS:
+                    stats(out, statistics);
                     break;
                 default:
-                    System.out.println(UNKNOWN_COMMAND);
+                    out.println(UNKNOWN_COMMAND);
             }
+            if (statistics != null && !comm.equals(STATS))
+                recordCommand(statistics, comm, System.nanoTime() - start);
+            out.endCommand(in.hasPendingInput());
             comm = getCommand(in);
         }
-        System.out.println(BYE_MESSAGE);
+        out.println(BYE_MESSAGE);
     }
 
 
-    private static String getCommand(Scanner in) {
+    private static String getCommand(CommandReader in) {
         String comm = in.next();
         return comm.toUpperCase();
     }
@@ -127,13 +424,64 @@ public class Main {
     /**
      * Prints every available command
      */
-    private static void help() {
-        System.out.println(HELP_TITLE);
-        for (HelpCommands h : HelpCommands.values())
-            System.out.println(h.getText());
+    private static void help(OutputBuffer out, Statistics statistics) {
+        out.println(HELP_TITLE);
+        for (HelpCommands h : HelpCommands.values()) {
+            if (h != HelpCommands.CMD_STATS_INFO || statistics != null)
+                out.println(h.getText());
+        }
     }
 
-    private static void register(Scanner in, ControlSystem system) {
+    /**
+     * Regista a latencia de um comando conhecido (os comandos desconhecidos nao sao registados)
+     * @param statistics estatisticas onde e registada a latencia
+     * @param comm nome do comando
+     * @param nanos latencia do comando em nanossegundos, incluindo a escrita do output no buffer
+     */
+    private static void recordCommand(Statistics statistics, String comm, long nanos) {
+        switch (comm) {
+            case HELP: case REGISTER: case USERS: case CREATE: case PROJECTS: case TEAM: case ARTEFACTS: case PROJECT:
+            case REVISION: case MANAGES: case KEYWORD: case CONFIDENTIALITY: case WORKAHOLICS: case COMMON:
+                statistics.command(comm).record(nanos);
+        }
+    }
+
+    /**
+     * Escreve as latencias (p50/p99/p999/max) e o debito dos comandos e dos metodos do sistema, e os elementos percorridos
+     * nas listagens; sem --stats o comando e desconhecido
+     * @param out buffer onde e escrito o output
+     * @param statistics estatisticas a escrever, ou null sem --stats
+     */
+    private static void stats(OutputBuffer out, Statistics statistics) {
+        if (statistics == null) {
+            out.println(UNKNOWN_COMMAND);
+            return;
+        }
+        double elapsed = statistics.getElapsedSeconds();
+        out.printf(STATS_TITLE, elapsed);
+        out.println(STATS_COMMANDS_TITLE);
+        printHistograms(statistics.getCommands(), elapsed, out);
+        out.println(STATS_ENTRY_POINTS_TITLE);
+        printHistograms(statistics.getEntryPoints(), elapsed, out);
+        out.printf(STATS_SCANNED, statistics.getUsersScanned(), statistics.getProjectsScanned(), statistics.getArtefactsScanned(), statistics.getRevisionsScanned());
+    }
+
+    /**
+     * Escreve uma linha por cada histograma com pelo menos uma latencia registada
+     * @param histograms histogramas ordenados pelo nome
+     * @param elapsed tempo decorrido em segundos, para calcular o debito
+     * @param out buffer onde e escrito o output
+     */
+    private static void printHistograms(Map<String, LatencyHistogram> histograms, double elapsed, OutputBuffer out) {
+        for (Map.Entry<String, LatencyHistogram> entry : histograms.entrySet()) {
+            LatencyHistogram h = entry.getValue();
+            long count = h.getCount();
+            if (count > 0)
+                out.printf(STATS_INFO, entry.getKey(), count, count / elapsed, h.getPercentile(50) / 1e3, h.getPercentile(99) / 1e3, h.getPercentile(99.9) / 1e3, h.getMax() / 1e3);
+        }
+    }
+
+    private static void register(CommandReader in, ControlSystem system, OutputBuffer out) {
 
         String manager = "";
         String jobName = in.next().toUpperCase();
@@ -152,41 +500,41 @@ public class Main {
             switch (job) {
                 case DEVELOPER:
                     system.register(username, manager, job, level);
-                    System.out.printf(USER_REGISTERED, username, "developer", level);
+                    out.printf(USER_REGISTERED, username, "developer", level);
                     break;
                 case MANAGER:
                     system.register(username, job, level);
-                    System.out.printf(USER_REGISTERED, username, "manager", level);
+                    out.printf(USER_REGISTERED, username, "manager", level);
                     break;
             }
         } catch (UserAlreadyExistsException | ManagerDoesNotExistException e1) {
-            System.out.println(e1.getMessage());
+            out.println(e1.getMessage());
         } catch (UnknownJobPositionException e2) {
-            System.out.println(e2.getMessage());
+            out.println(e2.getMessage());
             in.nextLine();
         }
     }
 
-    private static void listUsers(ControlSystem system) {
+    private static void listUsers(ControlSystem system, OutputBuffer out) {
         try {
             Iterator<Employee> it = system.listUsers();
-            System.out.println(LIST_USERS_TITLE);
+            out.println(LIST_USERS_TITLE);
             while (it.hasNext()) {
                 Employee current = (Employee) it.next();
                 if (current instanceof Manager) {
                     Manager manager = (Manager) current;
-                    System.out.printf(MANAGER_INFO, manager.getUsername(), manager.getNumDevelopers(), manager.getNumManagedProjects(), manager.getNumProjects() + manager.getNumManagedProjects());
+                    out.printf(MANAGER_INFO, manager.getUsername(), manager.getNumDevelopers(), manager.getNumManagedProjects(), manager.getNumProjects() + manager.getNumManagedProjects());
                 } else if (current instanceof Developer) {
                     Developer developer = (Developer) current;
-                    System.out.printf(DEVELOPER_INFO, developer.getUsername(), developer.getManager(), developer.getNumProjects());
+                    out.printf(DEVELOPER_INFO, developer.getUsername(), developer.getManager(), developer.getNumProjects());
                 }
             }
         } catch (EmptyUsersException e) {
-            System.out.println(e.getMessage());
+            out.println(e.getMessage());
         }
     }
 
-    private static void createProject(Scanner in, ControlSystem system) {
+    private static void createProject(CommandReader in, ControlSystem system, OutputBuffer out) {
         String manager = in.next();
         String projectTypeName = in.next();
         String id = in.nextLine().trim();
@@ -212,193 +560,173 @@ public class Main {
                     system.createProject(id, manager, keywords, company);
                     break;
             }
-            System.out.printf(CREATED_PROJECT, id);
+            out.printf(CREATED_PROJECT, id);
         } catch (ManagerDoesNotExistException | ProjectAlreadyExistsException | UnderClearanceLevelException e1) {
-            System.out.println(e1.getMessage());
+            out.println(e1.getMessage());
         } catch (UnknownProjectTypeException e2) {
             in.nextLine();
-            System.out.println(e2.getMessage());
+            out.println(e2.getMessage());
         }
     }
 
-    private static void listProjects(ControlSystem system) {
+    private static void listProjects(ControlSystem system, OutputBuffer out) {
         try {
             Iterator<Project> it = system.listProjects();
-            System.out.println(LIST_PROJECTS_TITLE);
+            out.println(LIST_PROJECTS_TITLE);
             while (it.hasNext()) {
                 Project current = (Project) it.next();
                 if (current instanceof InHouse) {
                     InHouse inHouse = (InHouse) current;
-                    System.out.printf(INHOUSE_INFO, inHouse.getId(), inHouse.getManagerUsername(), inHouse.getLevel(), inHouse.getNumEmployees(), inHouse.getNumArtefacts(), inHouse.getNumRevisions());
+                    out.printf(INHOUSE_INFO, inHouse.getId(), inHouse.getManagerUsername(), inHouse.getLevel(), inHouse.getNumEmployees(), inHouse.getNumArtefacts(), inHouse.getNumRevisions());
                 } else if (current instanceof Outsourced) {
                     Outsourced outsourced = (Outsourced) current;
-                    System.out.printf(OUTSOURCED_INFO, outsourced.getId(), outsourced.getManagerUsername(), outsourced.getCompany());
+                    out.printf(OUTSOURCED_INFO, outsourced.getId(), outsourced.getManagerUsername(), outsourced.getCompany());
                 }
             }
         } catch (EmptyProjectsException e) {
-            System.out.println(e.getMessage());
+            out.println(e.getMessage());
         }
     }
 
-    private static void addTeamToProject(Scanner in, ControlSystem system) {
-
-        boolean flag = true;
-
+    private static void addTeamToProject(CommandReader in, ControlSystem system, OutputBuffer out) {
         String manager = in.next();
         String id = in.nextLine().trim();
         int amount = in.nextInt();
-        List<String> members = new LinkedList<>();
+        List<String> members = new ArrayList<>(amount);
         for (int i = 0; i < amount; i++) {
             members.add(in.next());
         }
-        for (String member : members) {
-            try {
-                system.addEmployeeToProject(manager, id, member);
-                if (flag) {
-                    System.out.println(TEAM_TITLE);
-                    flag = false;
-                }
-                System.out.printf(ADDED_EMPLOYEE_TO_TEAM, member);
-            } catch (MemberAlreadyInTeamException | EmployeeDoesNotExistException | InsufficientClearanceLevelException e1) {
-                if (flag) {
-                    System.out.println(TEAM_TITLE);
-                    flag = false;
-                }
-                System.out.println(e1.getMessage());
-            } catch (ProjectNotManagedByUserException | ProjectDoesNotExistException | ManagerDoesNotExistException e2) {
-                System.out.println(e2.getMessage());
-                break;
-            }
+        // sem membros nao ha nada a validar nem a escrever
+        if (members.isEmpty())
+            return;
+
+        try {
+            AddResult[] results = system.addTeamToProject(manager, id, members);
+            out.println(TEAM_TITLE);
+            for (int i = 0; i < results.length; i++)
+                out.println(results[i].getMessage(members.get(i)));
+        } catch (ProjectNotManagedByUserException | ProjectDoesNotExistException | ManagerDoesNotExistException e) {
+            out.println(e.getMessage());
         }
     }
 
-    private static void addArtefactsToProject(Scanner in, ControlSystem system) {
-
-        boolean flag = true;
-
+    private static void addArtefactsToProject(CommandReader in, ControlSystem system, OutputBuffer out) {
         String member = in.next();
         String id = in.nextLine().trim();
-        String dateString = in.nextLine().trim();
+        LocalDate date = in.nextDate();
+        in.nextLine();
         int amount = in.nextInt();
         in.nextLine();
-        List<Artefact> artefacts = new LinkedList<>();
-
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(WRITE_DATE_FORMAT);
-        LocalDate date = LocalDate.parse(dateString, formatter);
+        List<Artefact> artefacts = new ArrayList<>(amount);
 
         for (int i = 0; i < amount; i++) {
             String name = in.next();
             int level = in.nextInt();
             String description = in.nextLine().trim();
-            artefacts.add(new ArtefactClass(member, name, level, description, date, id));
+            artefacts.add(system.createArtefact(member, name, level, description, date));
         }
+        // sem artefactos nao ha nada a validar nem a escrever
+        if (artefacts.isEmpty())
+            return;
 
-        for (Artefact artefact : artefacts) {
-            try {
-                system.addArtefactToProject(artefact, id, date);
-                if (flag) {
-                    System.out.println(ARTEFACTS_TITLE);
-                    flag = false;
-                }
-                System.out.printf(ADDED_ARTEFACT_TO_PROJECT, artefact.getName());
-            } catch (ArtefactAlreadyInProjectException | ArtefactHasHigherLevelException e1) {
-                if (flag) {
-                    System.out.println(ARTEFACTS_TITLE);
-                    flag = false;
-                }
-                System.out.println(e1.getMessage());;
-            } catch (UserDoesNotExistException | ProjectDoesNotExistException | MemberNotInTeamException | EmployeeDoesNotExistException e2) {
-                System.out.println(e2.getMessage());
-                break;
-            }
+        try {
+            AddResult[] results = system.addArtefactsToProject(member, id, date, artefacts);
+            out.println(ARTEFACTS_TITLE);
+            for (int i = 0; i < results.length; i++)
+                out.println(results[i].getMessage(artefacts.get(i).getName()));
+        } catch (UserDoesNotExistException | ProjectDoesNotExistException | MemberNotInTeamException e) {
+            out.println(e.getMessage());
         }
     }
 
-    private static void projectInfo(Scanner in, ControlSystem system) {
+    private static void projectInfo(CommandReader in, ControlSystem system, ReadWriteLock lock, OutputBuffer out) {
         String id = in.nextLine().trim();
+        lockRead(lock);
         try {
             InHouse inHouse = system.getProjectInfo(id);
-            System.out.printf(PROJECT_FORMAT, inHouse.getId(), inHouse.getLevel(), inHouse.getManagerUsername(), inHouse.getManager().getLevel());
+            out.printf(PROJECT_FORMAT, inHouse.getId(), inHouse.getLevel(), inHouse.getManagerUsername(), inHouse.getManager().getLevel());
 
             Iterator<Employee> itTeam = system.listTeamInProject(id);
             while (itTeam.hasNext()) {
                 Employee current = (Employee) itTeam.next();
-                System.out.printf(EMPLOYEE_INFO, current.getUsername(), current.getLevel());
+                out.printf(EMPLOYEE_INFO, current.getUsername(), current.getLevel());
             }
 
             Iterator<Artefact> itArtefact = system.listArtefactsInProject(id);
             while (itArtefact.hasNext()) {
                 Artefact artefact = (Artefact) itArtefact.next();
-                System.out.printf(ARTEFACT_INFO, artefact.getName(), artefact.getLevel());
+                out.printf(ARTEFACT_INFO, artefact.getName(), artefact.getLevel());
 
                 Iterator<Revision> itRevision = system.listRevisions(artefact);
                 while (itRevision.hasNext()) {
                     Revision revision = (Revision) itRevision.next();
-                    System.out.printf(REVISION_INFO, revision.getNumber(), revision.getOwner(), revision.getDateAsString(), revision.getComment());
+                    out.printf(REVISION_INFO, revision.getNumber(), revision.getOwner(), revision.getDateAsString(), revision.getComment());
                 }
             }
         } catch (ProjectDoesNotExistException | OutsourcedProjectException e) {
-            System.out.println(e.getMessage());;
+            out.println(e.getMessage());;
+        } finally {
+            unlockRead(lock);
         }
     }
 
-    private static void addRevisionToArtefact(Scanner in, ControlSystem system) {
+    private static void addRevisionToArtefact(CommandReader in, ControlSystem system, OutputBuffer out) {
         String username = in.next();
         String id = in.nextLine().trim();
         String artefact = in.next();
-        String dateAsString = in.next().trim();
+        LocalDate date = in.nextDate();
         String comment = in.nextLine().trim();
 
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(WRITE_DATE_FORMAT);
-        LocalDate date = LocalDate.parse(dateAsString, formatter);
-
         try {
             int revisionNum = system.addRevision(username, id, artefact, date, comment);
-            System.out.printf(REVISION_ADDED, revisionNum, artefact);
+            out.printf(REVISION_ADDED, revisionNum, artefact);
         } catch (UserDoesNotExistException | EmployeeDoesNotExistException|  ProjectDoesNotExistException | ArtefactDoesNotExistException | MemberNotInTeamException e) {
-            System.out.println(e.getMessage());
+            out.println(e.getMessage());
         }
     }
 
-    private static void managesInfo(Scanner in, ControlSystem system) {
+    private static void managesInfo(CommandReader in, ControlSystem system, ReadWriteLock lock, OutputBuffer out) {
         String username = in.nextLine().trim();
+        lockRead(lock);
         try {
             Iterator<Developer> itDev = system.listManagedDevelopers(username);
-            System.out.printf(MANAGER_TITLE, username);
+            out.printf(MANAGER_TITLE, username);
             while (itDev.hasNext()) {
                 Developer current = (Developer) itDev.next();
-                System.out.println(current.getUsername());
+                out.println(current.getUsername());
                 Iterator<Revision> itRev = current.listRevisions();
                 while (itRev.hasNext()) {
                     Revision r = (Revision) itRev.next();
-                    System.out.printf(REVISION_EMPLOYEE_INFO, r.getProject(), r.getArtefact(), r.getNumber(), r.getDateAsString(), r.getComment());
+                    out.printf(REVISION_EMPLOYEE_INFO, r.getProject(), r.getArtefact(), r.getNumber(), r.getDateAsString(), r.getComment());
                 }
             }
         } catch (ManagerDoesNotExistException e) {
-            System.out.println(e.getMessage());
+            out.println(e.getMessage());
+        } finally {
+            unlockRead(lock);
         }
     }
 
-    private static void listProjectsByKeyword(Scanner in, ControlSystem system) {
+    private static void listProjectsByKeyword(CommandReader in, ControlSystem system, OutputBuffer out) {
         String keyword = in.nextLine().trim();
         try {
             Iterator<InHouse> itInHouse = system.listInHousesByKeyword(keyword);
-            System.out.printf(KEYWORD_TITLE, keyword);
+            out.printf(KEYWORD_TITLE, keyword);
             while (itInHouse.hasNext()) {
                 InHouse current = (InHouse) itInHouse.next();
-                System.out.printf(KEYWORD_INHOUSE, current.getId(), current.getManagerUsername(), current.getLevel(), current.getNumEmployees(), current.getNumArtefacts(), current.getNumRevisions(), current.getRecentDateRevisionAsString());
+                out.printf(KEYWORD_INHOUSE, current.getId(), current.getManagerUsername(), current.getLevel(), current.getNumEmployees(), current.getNumArtefacts(), current.getNumRevisions(), current.getRecentDateRevisionAsString());
             }
             Iterator<Outsourced> itOutsourced = system.listOutsourcedByKeyword(keyword);
             while (itOutsourced.hasNext()) {
                 Outsourced current = (Outsourced) itOutsourced.next();
-                System.out.printf(KEYWORD_OUTSOURCED, current.getId(), current.getManagerUsername(), current.getCompany());
+                out.printf(KEYWORD_OUTSOURCED, current.getId(), current.getManagerUsername(), current.getCompany());
             }
         } catch (NoProjectsWithKeywordException e) {
-            System.out.println(e.getMessage());
+            out.println(e.getMessage());
         }
     }
 
-    private static void listByConfidentiality(Scanner in, ControlSystem system) {
+    private static void listByConfidentiality(CommandReader in, ControlSystem system, OutputBuffer out) {
         int lower = in.nextInt();
         int upper = in.nextInt();
         in.nextLine();
@@ -411,42 +739,45 @@ public class Main {
 
         try {
             Iterator<InHouse> it = system.listByConfidentiality(lower, upper);
-            System.out.printf(CONFIDENTIALITY_TITLE, lower, upper);
+            out.printf(CONFIDENTIALITY_TITLE, lower, upper);
             while (it.hasNext()) {
                 InHouse current = (InHouse) it.next();
-                System.out.printf(CONFIDENTIALITY_INFO, current.getId(), current.getManagerUsername(), current.getKeywordsFormatted());
+                out.printf(CONFIDENTIALITY_INFO, current.getId(), current.getManagerUsername(), current.getKeywordsFormatted());
             }
         } catch (NoProjectsWithinLevelsException e) {
-            System.out.println(e.getMessage());
+            out.println(e.getMessage());
         }
     }
 
-    private static void listWokaholics(ControlSystem system) {
+    private static void listWokaholics(ControlSystem system, OutputBuffer out) {
         try {
             Iterator<Employee> it = system.listWorkaholics();
             while (it.hasNext()) {
                 Employee current = (Employee) it.next();
                 if (current instanceof Manager)
-                    System.out.printf(WORKAHOLICS_INFO, current.getUsername(), current.getUpdates(), current.getNumProjects() + ((Manager) current).getNumManagedProjects(), current.getLastDateFormatted());
+                    out.printf(WORKAHOLICS_INFO, current.getUsername(), current.getUpdates(), current.getNumProjects() + ((Manager) current).getNumManagedProjects(), current.getLastDateFormatted());
                 else
-                    System.out.printf(WORKAHOLICS_INFO, current.getUsername(), current.getUpdates(), current.getNumProjects(), current.getLastDateFormatted());
+                    out.printf(WORKAHOLICS_INFO, current.getUsername(), current.getUpdates(), current.getNumProjects(), current.getLastDateFormatted());
             }
 
         } catch (NoWorkaholicsException e) {
-            System.out.println(e.getMessage());
+            out.println(e.getMessage());
         }
     }
 
-    private static void listCommon(ControlSystem system) {
+    private static void listCommon(ControlSystem system, ReadWriteLock lock, OutputBuffer out) {
+        lockRead(lock);
         try {
             Iterator<Employee> it = system.listCommon();
             while (it.hasNext()) {
                 Employee first = (Employee) it.next();
                 Employee second = (Employee) it.next();
-                System.out.printf(COMMON_INFO, first.getUsername(), second.getUsername(), first.getCommonProjectsNum(second));
+                out.printf(COMMON_INFO, first.getUsername(), second.getUsername(), first.getCommonProjectsNum(second));
             }
         } catch (NoCommonProjectsException e) {
-            System.out.println(e.getMessage());
+            out.println(e.getMessage());
+        } finally {
+            unlockRead(lock);
         }
     }
 }
\ No newline at end of file
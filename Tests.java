@@ -4,8 +4,10 @@ import static org.junit.Assert.fail;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
 import java.util.Locale;
 
 import org.junit.Before;
@@ -42,6 +44,90 @@ public class Tests {
     @Test public void test10() { test("10_in.txt","10_out.txt"); }
     @Test public void test11() { test("11_in.txt","11_out.txt"); }
 
+    /**
+     * Guarda um snapshot numa execucao e carrega-o noutra: o output da segunda execucao tem de ser o mesmo que o dos
+     * mesmos comandos executados a seguir aos da primeira, sem snapshot
+     */
+    @Test public void testSnapshot() throws IOException {
+        File snapshot = File.createTempFile("snapshot", ".bin");
+        try {
+            test("snapshot_save_in.txt", "snapshot_save_out.txt", "--save", snapshot.getPath());
+            test("snapshot_load_in.txt", "snapshot_load_out.txt", "--load", snapshot.getPath());
+        } finally {
+            snapshot.delete();
+        }
+    }
+
+    /**
+     * Um registo incompleto no fim do journal (escrita interrompida) e descartado, e os registos seguintes sao
+     * acrescentados no seu lugar
+     */
+    @Test public void testJournalTornRecord() throws IOException {
+        File journal = File.createTempFile("journal", ".log");
+        try {
+            test("journal_in.txt", "journal_out.txt", "--journal", journal.getPath());
+            // cabecalho de um registo de 48 bytes seguido de so 2 bytes do conteudo
+            Files.write(journal.toPath(), new byte[] { 0, 0, 0, 48, 1, 2, 3, 4, 5, 6 }, StandardOpenOption.APPEND);
+            test("journal_more_in.txt", "journal_more_out.txt", "--journal", journal.getPath());
+            test("journal_queries_in.txt", "journal_more_queries_out.txt", "--journal", journal.getPath());
+        } finally {
+            journal.delete();
+        }
+    }
+
+    /**
+     * Um registo com o CRC errado termina o journal: a ultima revisao nao e reposta
+     */
+    @Test public void testJournalChecksum() throws IOException {
+        File journal = File.createTempFile("journal", ".log");
+        try {
+            test("journal_in.txt", "journal_out.txt", "--journal", journal.getPath());
+            byte[] bytes = Files.readAllBytes(journal.toPath());
+            bytes[bytes.length - 1] ^= 1;
+            Files.write(journal.toPath(), bytes);
+            test("journal_queries_in.txt", "journal_crc_out.txt", "--journal", journal.getPath());
+        } finally {
+            journal.delete();
+        }
+    }
+
+    /**
+     * Guardar um snapshot esvazia o journal, e as alteracoes seguintes sao repostas por cima do snapshot carregado
+     */
+    @Test public void testJournalOnSnapshot() throws IOException {
+        File journal = File.createTempFile("journal", ".log");
+        File snapshot = File.createTempFile("snapshot", ".bin");
+        try {
+            test("journal_in.txt", "journal_out.txt", "--journal", journal.getPath(), "--save", snapshot.getPath());
+            test("journal_more_in.txt", "journal_more_out.txt", "--load", snapshot.getPath(), "--journal", journal.getPath());
+            test("journal_queries_in.txt", "journal_more_queries_out.txt", "--load", snapshot.getPath(), "--journal", journal.getPath());
+        } finally {
+            journal.delete();
+            snapshot.delete();
+        }
+    }
+
+    /**
+     * Um checkpoint interrompido depois de guardar o snapshot mas antes de esvaziar o journal: os registos do journal
+     * ja estao no snapshot e nao sao repostos outra vez
+     */
+    @Test public void testCheckpointInterrupted() throws IOException {
+        File journal = File.createTempFile("journal", ".log");
+        File snapshot = File.createTempFile("snapshot", ".bin");
+        try {
+            test("journal_in.txt", "journal_out.txt", "--journal", journal.getPath());
+            byte[] beforeCheckpoint = Files.readAllBytes(journal.toPath());
+            test("journal_queries_in.txt", "journal_queries_out.txt", "--journal", journal.getPath(), "--save", snapshot.getPath());
+            Files.write(journal.toPath(), beforeCheckpoint);
+            test("journal_queries_in.txt", "journal_queries_out.txt", "--load", snapshot.getPath(), "--journal", journal.getPath());
+            test("journal_more_in.txt", "journal_more_out.txt", "--load", snapshot.getPath(), "--journal", journal.getPath());
+            test("journal_queries_in.txt", "journal_more_queries_out.txt", "--load", snapshot.getPath(), "--journal", journal.getPath());
+        } finally {
+            journal.delete();
+            snapshot.delete();
+        }
+    }
+
 
     private static final File BASE = new File("tests");
 
@@ -54,11 +140,12 @@ public class Tests {
         System.setOut(new PrintStream(outContent));
     }
 
-    public void test(String input, String output) {
-        test(new File(BASE, input), new File(BASE, output));
+    public void test(String input, String output, String... args) {
+        test(new File(BASE, input), new File(BASE, output), args);
     }
 
-    public void test(File input, File output) {
+    public void test(File input, File output, String... args) {
+        outContent.reset();
         consoleStream.println("Testing!");
         consoleStream.println("Input: " + input.getAbsolutePath());
         consoleStream.println("Output: " + output.getAbsolutePath());
@@ -81,7 +168,7 @@ public class Tests {
             Locale.setDefault(Locale.US);
             System.setIn(new FileInputStream(input));
             Class<?> mainClass = Class.forName("Main");
-            mainClass.getMethod("main", String[].class).invoke(null, new Object[] { new String[0] });
+            mainClass.getMethod("main", String[].class).invoke(null, new Object[] { args });
         } catch (Exception e) {
             e.printStackTrace();
             fail("Erro no programa");